@@ -0,0 +1,113 @@
+package com.task.management.benchmark;
+
+import com.task.management.config.TaskManagementProperties;
+import com.task.management.dto.TaskDto;
+import com.task.management.model.Task;
+import com.task.management.model.TaskStatus;
+import com.task.management.repository.TaskRepository;
+import com.task.management.service.TaskCache;
+import com.task.management.service.TaskChangeHub;
+import com.task.management.service.TaskService;
+import com.task.management.service.TaskUpdateQueue;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.experimental.UtilityClass;
+import org.springframework.transaction.reactive.TransactionCallback;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.lang.reflect.Proxy;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+/**
+ * Realistic payloads and an in-memory stand-in for the database shared by the benchmarks.
+ */
+@UtilityClass
+class BenchmarkTasks {
+
+    private static final String DESCRIPTION = "Complete the API documentation for the task module, including the examples "
+            + "of every error response and the description of the pagination headers.";
+
+    static List<Task> tasks(int count) {
+        var statuses = TaskStatus.values();
+        var ownerId = UUID.randomUUID();
+        var creationDate = ZonedDateTime.now().minusDays(30);
+        return IntStream.range(0, count)
+                .mapToObj(i -> Task.builder()
+                        .id(UUID.randomUUID())
+                        .title("Write documentation " + i)
+                        .description(DESCRIPTION)
+                        .creationDate(creationDate.plusMinutes(i))
+                        .modificationDate(creationDate.plusMinutes(i + 5L))
+                        .status(statuses[i % statuses.length])
+                        .ownerId(ownerId)
+                        .assigneeId(i % 3 == 0 ? null : UUID.randomUUID())
+                        .version((long) i % 7)
+                        .build())
+                .toList();
+    }
+
+    /**
+     * The DTOs of the given tasks, as served by the API.
+     */
+    static List<TaskDto> taskDtos(List<Task> tasks) {
+        return tasks.stream()
+                .map(task -> TaskDto.builder()
+                        .id(task.getId())
+                        .title(task.getTitle())
+                        .description(task.getDescription())
+                        .status(com.task.management.dto.TaskStatus.valueOf(task.getStatus().name()))
+                        .creationDate(task.getCreationDate())
+                        .modificationDate(task.getModificationDate())
+                        .assigneeId(task.getAssigneeId())
+                        .ownerId(task.getOwnerId())
+                        .version(task.getVersion())
+                        .build())
+                .toList();
+    }
+
+    /**
+     * A TaskService reading the given tasks from memory. Its other collaborators are the application ones,
+     * never started, and a transactional operator that runs without transaction; there is no export
+     * repository, as it would open a connection pool.
+     */
+    static TaskService taskService(List<Task> tasks) {
+        var properties = new TaskManagementProperties();
+        var meterRegistry = new SimpleMeterRegistry();
+        var taskRepository = inMemoryRepository(tasks);
+        var taskCache = new TaskCache(properties, meterRegistry);
+        var withoutTransaction = new TransactionalOperator() {
+            @Override
+            public <T> Flux<T> execute(TransactionCallback<T> action) {
+                return Flux.from(action.doInTransaction(null));
+            }
+        };
+        return new TaskService(taskRepository,
+                null,
+                taskCache,
+                withoutTransaction,
+                new TaskChangeHub(properties),
+                properties,
+                new TaskUpdateQueue(taskRepository, taskCache, properties, meterRegistry));
+    }
+
+    /**
+     * A TaskRepository whose listing methods serve the given tasks from memory, so that a benchmark
+     * measures the service and mapping code rather than the database. Its other methods find nothing.
+     */
+    static TaskRepository inMemoryRepository(List<Task> tasks) {
+        return (TaskRepository) Proxy.newProxyInstance(TaskRepository.class.getClassLoader(),
+                new Class<?>[]{TaskRepository.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "findAllPaged", "findAllAfter" -> Flux.fromIterable(tasks);
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    case "toString" -> "InMemoryTaskRepository";
+                    default -> method.getReturnType() == Mono.class ? Mono.empty() : Flux.empty();
+                });
+    }
+
+}
@@ -0,0 +1,34 @@
+package com.task.management.benchmark;
+
+import com.task.management.exception.MessagePatternReplacement;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rewrites validation messages the way the exception handler does for every invalid field.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class MessagePatternReplacementBenchmark {
+
+    private final String blankTitleMessage = "Field 'title': must match \"^(?!\\s*$).+\"";
+    private final String nullTitleMessage = "Field 'title': must not be null";
+
+    @Benchmark
+    public String replaceMatching() {
+        return MessagePatternReplacement.replace(blankTitleMessage);
+    }
+
+    @Benchmark
+    public String replaceNotMatching() {
+        return MessagePatternReplacement.replace(nullTitleMessage);
+    }
+
+}
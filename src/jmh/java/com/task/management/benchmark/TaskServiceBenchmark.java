@@ -0,0 +1,43 @@
+package com.task.management.benchmark;
+
+import com.task.management.dto.TaskDto;
+import com.task.management.dto.TaskFilter;
+import com.task.management.dto.TaskProjection;
+import com.task.management.service.TaskService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lists a page of tasks through {@link TaskService#findAll} end to end, which covers the row to
+ * {@link TaskDto} mapping, against an in-memory repository.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class TaskServiceBenchmark {
+
+    @Param({"10", "100", "1000"})
+    int pageSize;
+
+    private TaskService taskService;
+
+    @Setup
+    public void setup() {
+        taskService = BenchmarkTasks.taskService(BenchmarkTasks.tasks(pageSize));
+    }
+
+    @Benchmark
+    public List<TaskDto> findAll() {
+        return taskService.findAll(TaskFilter.NONE, TaskProjection.ALL, 0, pageSize).collectList().block();
+    }
+
+}
@@ -0,0 +1,180 @@
+package com.task.management.load;
+
+import com.task.management.dto.TaskCreateRequestDto;
+import com.task.management.dto.TaskDto;
+import com.task.management.dto.TaskUpdateRequestDto;
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Drives a weighted mix of operations at a fixed rate (open model). Latency is measured from the moment a
+ * request was scheduled to start, so a slow server is not hidden by requests that start late.
+ */
+@Slf4j
+class LoadGenerator {
+
+    private final WebClient webClient;
+    private final LoadSettings settings;
+    private final Map<Operation, Recorder> recorders = new EnumMap<>(Operation.class);
+    private final Map<Operation, AtomicLong> errors = new EnumMap<>(Operation.class);
+    private final AtomicLong skipped = new AtomicLong();
+    private final List<UUID> taskIds = new ArrayList<>();
+    private final UUID ownerId = UUID.randomUUID();
+    private final Operation[] weightedOperations;
+
+    LoadGenerator(WebClient webClient, LoadSettings settings) {
+        this.webClient = webClient;
+        this.settings = settings;
+        var operations = new ArrayList<Operation>();
+        settings.getMix().forEach((operation, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                operations.add(operation);
+            }
+        });
+        this.weightedOperations = operations.toArray(Operation[]::new);
+        for (var operation : Operation.values()) {
+            recorders.put(operation, new Recorder(3));
+            errors.put(operation, new AtomicLong());
+        }
+    }
+
+    LoadReport run() {
+        log.info("Seeding {} tasks", settings.getSeedTasks());
+        Flux.range(0, settings.getSeedTasks())
+                .flatMap(i -> create(), settings.getConcurrency())
+                .blockLast();
+
+        log.info("Warming up for {}", settings.getWarmup());
+        drive(settings.getWarmup());
+        recorders.values().forEach(Recorder::reset);
+        errors.values().forEach(counter -> counter.set(0));
+        skipped.set(0);
+
+        log.info("Running {} requests/s with {} in flight for {}", settings.getRate(), settings.getConcurrency(), settings.getDuration());
+        drive(settings.getDuration());
+
+        var histograms = new EnumMap<Operation, Histogram>(Operation.class);
+        recorders.forEach((operation, recorder) -> histograms.put(operation, recorder.getIntervalHistogram()));
+        var errorCounts = new EnumMap<Operation, Long>(Operation.class);
+        errors.forEach((operation, counter) -> errorCounts.put(operation, counter.get()));
+        return new LoadReport(settings, histograms, errorCounts, skipped.get());
+    }
+
+    private void drive(Duration duration) {
+        var interval = Duration.ofNanos(1_000_000_000L / settings.getRate());
+        var startNanos = System.nanoTime();
+        var ticks = duration.toNanos() / interval.toNanos();
+        Flux.interval(interval)
+                .take(ticks)
+                .onBackpressureDrop(tick -> skipped.incrementAndGet())
+                .flatMap(tick -> execute(nextOperation(), startNanos + tick * interval.toNanos()),
+                        settings.getConcurrency())
+                .blockLast();
+    }
+
+    private Mono<Void> execute(Operation operation, long scheduledNanos) {
+        var request = switch (operation) {
+            case CREATE -> create();
+            case GET -> withTask(this::get);
+            case LIST -> list();
+            case UPDATE -> withTask(this::update);
+            case DELETE -> delete();
+        };
+        return request.then()
+                .onErrorResume(e -> {
+                    errors.get(operation).incrementAndGet();
+                    return Mono.empty();
+                })
+                .doFinally(signal -> recorders.get(operation)
+                        .recordValue(Math.max(0, (System.nanoTime() - scheduledNanos) / 1_000)));
+    }
+
+    private Operation nextOperation() {
+        return weightedOperations[ThreadLocalRandom.current().nextInt(weightedOperations.length)];
+    }
+
+    private Mono<?> create() {
+        var request = TaskCreateRequestDto.builder()
+                .title("Load test task")
+                .description("Created by the load test")
+                .ownerId(ownerId)
+                .build();
+        return webClient.post().uri("/tasks")
+                .bodyValue(request)
+                .retrieve()
+                .bodyToMono(TaskDto.class)
+                .doOnNext(task -> addTask(task.getId()));
+    }
+
+    private Mono<?> get(UUID id) {
+        return webClient.get().uri("/tasks/{id}", id)
+                .retrieve()
+                .toBodilessEntity();
+    }
+
+    private Mono<?> list() {
+        return webClient.get().uri(uriBuilder -> uriBuilder.path("/tasks")
+                        .queryParam("size", settings.getPageSize())
+                        .queryParam("ownerId", ownerId)
+                        .build())
+                .retrieve()
+                .toBodilessEntity();
+    }
+
+    private Mono<?> update(UUID id) {
+        var request = TaskUpdateRequestDto.builder()
+                .title("Load test task " + ThreadLocalRandom.current().nextInt(1000))
+                .build();
+        return webClient.put().uri("/tasks/{id}", id)
+                .bodyValue(request)
+                .retrieve()
+                .toBodilessEntity();
+    }
+
+    private Mono<?> delete() {
+        var id = removeTask();
+        if (id == null) {
+            return Mono.error(new IllegalStateException("No task left to delete"));
+        }
+        return webClient.delete().uri("/tasks/{id}", id)
+                .retrieve()
+                .toBodilessEntity();
+    }
+
+    private Mono<?> withTask(Function<UUID, Mono<?>> request) {
+        var id = randomTask();
+        return id != null ? request.apply(id) : Mono.error(new IllegalStateException("No task available"));
+    }
+
+    private synchronized void addTask(UUID id) {
+        taskIds.add(id);
+    }
+
+    private synchronized UUID randomTask() {
+        return taskIds.isEmpty() ? null : taskIds.get(ThreadLocalRandom.current().nextInt(taskIds.size()));
+    }
+
+    private synchronized UUID removeTask() {
+        if (taskIds.isEmpty()) {
+            return null;
+        }
+        var index = ThreadLocalRandom.current().nextInt(taskIds.size());
+        var last = taskIds.remove(taskIds.size() - 1);
+        return index < taskIds.size() ? taskIds.set(index, last) : last;
+    }
+
+}
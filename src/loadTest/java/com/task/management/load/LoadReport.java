@@ -0,0 +1,63 @@
+package com.task.management.load;
+
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.util.Map;
+
+/**
+ * Throughput and latency percentiles per operation. Latencies are recorded in microseconds and reported
+ * in milliseconds; the full distribution of each operation is also written as an .hgrm file that can be
+ * plotted or compared with the HdrHistogram tools.
+ */
+class LoadReport {
+
+    private static final double MICROS_PER_MILLI = 1_000.0;
+
+    private final LoadSettings settings;
+    private final Map<Operation, Histogram> histograms;
+    private final Map<Operation, Long> errors;
+    private final long skipped;
+
+    LoadReport(LoadSettings settings, Map<Operation, Histogram> histograms, Map<Operation, Long> errors, long skipped) {
+        this.settings = settings;
+        this.histograms = histograms;
+        this.errors = errors;
+        this.skipped = skipped;
+    }
+
+    void print(PrintStream out) {
+        var seconds = settings.getDuration().toMillis() / 1_000.0;
+        out.printf("rate=%d/s concurrency=%d duration=%s mix=%s skipped=%d%n",
+                settings.getRate(), settings.getConcurrency(), settings.getDuration(), settings.getMix(), skipped);
+        out.printf("%-8s %10s %8s %10s %9s %9s %9s %9s %9s%n",
+                "op", "count", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        histograms.forEach((operation, histogram) -> out.printf("%-8s %10d %8d %10.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                operation,
+                histogram.getTotalCount(),
+                errors.get(operation),
+                histogram.getTotalCount() / seconds,
+                histogram.getValueAtPercentile(50) / MICROS_PER_MILLI,
+                histogram.getValueAtPercentile(90) / MICROS_PER_MILLI,
+                histogram.getValueAtPercentile(99) / MICROS_PER_MILLI,
+                histogram.getValueAtPercentile(99.9) / MICROS_PER_MILLI,
+                histogram.getMaxValue() / MICROS_PER_MILLI));
+    }
+
+    void write() throws IOException {
+        var directory = settings.getReportDirectory();
+        Files.createDirectories(directory);
+        try (var summary = new PrintStream(Files.newOutputStream(directory.resolve("summary.txt")))) {
+            print(summary);
+        }
+        for (var entry : histograms.entrySet()) {
+            var file = directory.resolve(entry.getKey().name().toLowerCase() + ".hgrm");
+            try (var distribution = new PrintStream(Files.newOutputStream(file))) {
+                entry.getValue().outputPercentileDistribution(distribution, MICROS_PER_MILLI);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,64 @@
+package com.task.management.load;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Shape of a load test run, read from {@code load.*} system properties so that two builds can be
+ * compared under exactly the same load.
+ */
+@Value
+@Builder
+class LoadSettings {
+
+    /**
+     * Requests started per second, independently of how fast responses come back.
+     */
+    int rate;
+    /**
+     * Maximum number of requests in flight.
+     */
+    int concurrency;
+    Duration warmup;
+    Duration duration;
+    /**
+     * Tasks created before the run so that reads, updates and deletes have targets.
+     */
+    int seedTasks;
+    int pageSize;
+    Map<Operation, Integer> mix;
+    String postgresImage;
+    Path reportDirectory;
+
+    static LoadSettings fromSystemProperties() {
+        return LoadSettings.builder()
+                .rate(Integer.getInteger("load.rate", 200))
+                .concurrency(Integer.getInteger("load.concurrency", 64))
+                .warmup(Duration.parse(System.getProperty("load.warmup", "PT10S")))
+                .duration(Duration.parse(System.getProperty("load.duration", "PT60S")))
+                .seedTasks(Integer.getInteger("load.seed-tasks", 1000))
+                .pageSize(Integer.getInteger("load.page-size", 50))
+                .mix(parseMix(System.getProperty("load.mix", "create=10,get=50,list=20,update=15,delete=5")))
+                .postgresImage(System.getProperty("load.postgres-image", "postgres:16-alpine"))
+                .reportDirectory(Path.of(System.getProperty("load.report-directory", "build/reports/load-test")))
+                .build();
+    }
+
+    private static Map<Operation, Integer> parseMix(String mix) {
+        var weights = new EnumMap<Operation, Integer>(Operation.class);
+        for (var entry : mix.split(",")) {
+            var parts = entry.split("=");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid load.mix entry: " + entry);
+            }
+            weights.put(Operation.valueOf(parts[0].trim().toUpperCase()), Integer.parseInt(parts[1].trim()));
+        }
+        return weights;
+    }
+
+}
@@ -0,0 +1,9 @@
+package com.task.management.load;
+
+enum Operation {
+    CREATE,
+    GET,
+    LIST,
+    UPDATE,
+    DELETE
+}
@@ -0,0 +1,45 @@
+package com.task.management.load;
+
+import com.task.management.TaskManagementApplication;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.utility.DockerImageName;
+
+import java.io.IOException;
+
+/**
+ * Boots the application against a throw-away Postgres and reports its throughput and latencies under the
+ * load described by {@link LoadSettings}. Run it with {@code gradle loadTest -Pload.rate=500 ...}.
+ */
+@Slf4j
+public class TaskLoadTest {
+
+    public static void main(String[] args) throws IOException {
+        var settings = LoadSettings.fromSystemProperties();
+        var image = DockerImageName.parse(settings.getPostgresImage()).asCompatibleSubstituteFor("postgres");
+        try (var postgres = new PostgreSQLContainer<>(image)) {
+            postgres.start();
+            var application = new SpringApplicationBuilder(TaskManagementApplication.class)
+                    .properties(
+                            "server.port=0",
+                            "spring.r2dbc.url=r2dbc:postgresql://%s:%d/%s".formatted(
+                                    postgres.getHost(), postgres.getMappedPort(5432), postgres.getDatabaseName()),
+                            "spring.r2dbc.username=" + postgres.getUsername(),
+                            "spring.r2dbc.password=" + postgres.getPassword(),
+                            "spring.flyway.url=" + postgres.getJdbcUrl(),
+                            "spring.flyway.user=" + postgres.getUsername(),
+                            "spring.flyway.password=" + postgres.getPassword())
+                    .run(args);
+            try (application) {
+                var port = application.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+                var report = new LoadGenerator(WebClient.create("http://localhost:" + port), settings).run();
+                report.print(System.out);
+                report.write();
+                log.info("Report written to {}", settings.getReportDirectory().toAbsolutePath());
+            }
+        }
+    }
+
+}
@@ -7,4 +7,8 @@ public class TaskConstants {
 
     public final String UUID = "^[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[1-5][0-9a-fA-F]{3}-[89abAB][0-9a-fA-F]{3}-[0-9a-fA-F]{12}$";
 
+    public final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    public final String TOTAL_COUNT_HEADER = "X-Total-Count";
+
 }
@@ -0,0 +1,39 @@
+package com.task.management.common;
+
+import com.task.management.dto.TaskDto;
+import lombok.experimental.UtilityClass;
+
+import java.util.Objects;
+
+/**
+ * RFC 4180 rendering of tasks for exports.
+ */
+@UtilityClass
+public class TaskCsv {
+
+    public final String HEADER = "id,title,description,status,ownerId,assigneeId,creationDate,modificationDate,version\r\n";
+
+    public void appendRow(StringBuilder csv, TaskDto task) {
+        appendField(csv, task.getId()).append(',');
+        appendField(csv, task.getTitle()).append(',');
+        appendField(csv, task.getDescription()).append(',');
+        appendField(csv, task.getStatus()).append(',');
+        appendField(csv, task.getOwnerId()).append(',');
+        appendField(csv, task.getAssigneeId()).append(',');
+        appendField(csv, task.getCreationDate()).append(',');
+        appendField(csv, task.getModificationDate()).append(',');
+        appendField(csv, task.getVersion()).append("\r\n");
+    }
+
+    private StringBuilder appendField(StringBuilder csv, Object value) {
+        if (value == null) {
+            return csv;
+        }
+        var text = Objects.toString(value);
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return csv.append(text);
+        }
+        return csv.append('"').append(text.replace("\"", "\"\"")).append('"');
+    }
+
+}
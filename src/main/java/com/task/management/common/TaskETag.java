@@ -0,0 +1,68 @@
+package com.task.management.common;
+
+import lombok.experimental.UtilityClass;
+
+import java.util.stream.Stream;
+
+/**
+ * Maps the task version to a strong entity tag and back. Representations holding only some fields of the task
+ * add a variant to the tag, so that they never match the tag of another representation of the same version.
+ */
+@UtilityClass
+public class TaskETag {
+
+    private final String ANY = "*";
+    private final String WEAK_PREFIX = "W/";
+
+    /**
+     * Version that no task can have, used for If-Match values that cannot be parsed so that they never match.
+     */
+    public final long UNMATCHABLE_VERSION = -1L;
+
+    public String of(Long version) {
+        return of(version, null);
+    }
+
+    public String of(Long version, String variant) {
+        return "\"" + version + (variant != null ? "-" + variant : "") + "\"";
+    }
+
+    /**
+     * @return the version required by an If-Match header, or {@code null} when any version is acceptable
+     */
+    public Long expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals(ANY)) {
+            return null;
+        }
+        try {
+            return Long.parseLong(unquote(ifMatch.trim()));
+        } catch (NumberFormatException e) {
+            return UNMATCHABLE_VERSION;
+        }
+    }
+
+    /**
+     * Weak comparison of an If-None-Match header against the current version of the representation.
+     */
+    public boolean matches(String ifNoneMatch, Long version, String variant) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+        var currentTag = of(version, variant);
+        return Stream.of(ifNoneMatch.split(","))
+                .map(String::trim)
+                .anyMatch(tag -> tag.equals(ANY) || stripWeakPrefix(tag).equals(currentTag));
+    }
+
+    private String unquote(String tag) {
+        var strongTag = stripWeakPrefix(tag);
+        return strongTag.length() > 1 && strongTag.startsWith("\"") && strongTag.endsWith("\"")
+                ? strongTag.substring(1, strongTag.length() - 1)
+                : strongTag;
+    }
+
+    private String stripWeakPrefix(String tag) {
+        return tag.startsWith(WEAK_PREFIX) ? tag.substring(WEAK_PREFIX.length()) : tag;
+    }
+
+}
@@ -0,0 +1,36 @@
+package com.task.management.config;
+
+import io.micrometer.common.KeyValue;
+import io.micrometer.common.KeyValues;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.server.reactive.observation.DefaultServerRequestObservationConvention;
+import org.springframework.http.server.reactive.observation.ServerRequestObservationContext;
+import org.springframework.http.server.reactive.observation.ServerRequestObservationConvention;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.reactive.HandlerMapping;
+
+@Configuration
+public class MetricsConfiguration {
+
+    /**
+     * Tags the http.server.requests metrics with the TaskManagementApi operation that served the request,
+     * so every operation gets its own latency distribution.
+     */
+    @Bean
+    public ServerRequestObservationConvention taskOperationObservationConvention() {
+        return new DefaultServerRequestObservationConvention() {
+            @Override
+            public KeyValues getLowCardinalityKeyValues(ServerRequestObservationContext context) {
+                return super.getLowCardinalityKeyValues(context).and(operation(context));
+            }
+        };
+    }
+
+    private static KeyValue operation(ServerRequestObservationContext context) {
+        var handler = context.getAttributes().get(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE);
+        var operation = handler instanceof HandlerMethod handlerMethod ? handlerMethod.getMethod().getName() : "none";
+        return KeyValue.of("operation", operation);
+    }
+
+}
@@ -0,0 +1,41 @@
+package com.task.management.config;
+
+import com.task.management.model.TaskStatus;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.data.convert.ReadingConverter;
+import org.springframework.data.convert.WritingConverter;
+import org.springframework.data.r2dbc.convert.R2dbcCustomConversions;
+import org.springframework.data.r2dbc.dialect.PostgresDialect;
+
+import java.util.List;
+
+@Configuration
+public class R2dbcConfiguration {
+
+    @Bean
+    public R2dbcCustomConversions r2dbcCustomConversions() {
+        return R2dbcCustomConversions.of(PostgresDialect.INSTANCE, List.of(
+                new TaskStatusWritingConverter(),
+                new TaskStatusReadingConverter()
+        ));
+    }
+
+    @WritingConverter
+    static class TaskStatusWritingConverter implements Converter<TaskStatus, Short> {
+        @Override
+        public Short convert(TaskStatus source) {
+            return source.getCode();
+        }
+    }
+
+    @ReadingConverter
+    static class TaskStatusReadingConverter implements Converter<Short, TaskStatus> {
+        @Override
+        public TaskStatus convert(Short source) {
+            return TaskStatus.fromCode(source);
+        }
+    }
+
+}
@@ -0,0 +1,32 @@
+package com.task.management.config;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.env.EnvironmentPostProcessor;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.MapPropertySource;
+import reactor.netty.resources.LoopResources;
+
+import java.util.Map;
+
+/**
+ * Sizes the R2DBC connection pool after the number of Netty event loops, which bounds how many requests
+ * can run queries at the same time. The computed values only apply when {@code spring.r2dbc.pool.max-size}
+ * and {@code spring.r2dbc.pool.initial-size} are not configured explicitly.
+ */
+public class R2dbcPoolEnvironmentPostProcessor implements EnvironmentPostProcessor {
+
+    static final String PROPERTY_SOURCE_NAME = "taskManagementR2dbcPool";
+
+    @Override
+    public void postProcessEnvironment(ConfigurableEnvironment environment, SpringApplication application) {
+        var pool = Binder.get(environment)
+                .bind("task-management.pool", TaskManagementProperties.Pool.class)
+                .orElseGet(TaskManagementProperties.Pool::new);
+        var maxSize = pool.getConnectionsPerEventLoop() * LoopResources.DEFAULT_IO_WORKER_COUNT;
+        environment.getPropertySources().addLast(new MapPropertySource(PROPERTY_SOURCE_NAME, Map.of(
+                "spring.r2dbc.pool.max-size", maxSize,
+                "spring.r2dbc.pool.initial-size", Math.min(LoopResources.DEFAULT_IO_WORKER_COUNT, maxSize))));
+    }
+
+}
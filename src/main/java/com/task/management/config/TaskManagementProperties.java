@@ -0,0 +1,233 @@
+package com.task.management.config;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+@Data
+@Validated
+@ConfigurationProperties(prefix = "task-management")
+public class TaskManagementProperties {
+
+    @Valid
+    private Batch batch = new Batch();
+
+    @Valid
+    private Cache cache = new Cache();
+
+    @Valid
+    private Events events = new Events();
+
+    @Valid
+    private RequestLogging requestLogging = new RequestLogging();
+
+    @Valid
+    private Pool pool = new Pool();
+
+    @Valid
+    private Export export = new Export();
+
+    @Valid
+    private Stats stats = new Stats();
+
+    @Valid
+    private Idempotency idempotency = new Idempotency();
+
+    @Valid
+    private UpdateQueue updateQueue = new UpdateQueue();
+
+    @Valid
+    private Outbox outbox = new Outbox();
+
+    @Valid
+    private History history = new History();
+
+    @Data
+    public static class Batch {
+        /**
+         * Number of tasks written per multi-row INSERT. Each task binds six parameters and
+         * Postgres accepts at most 65535 parameters per statement.
+         */
+        @Min(1)
+        @Max(10000)
+        private int chunkSize = 500;
+    }
+
+    @Data
+    public static class Cache {
+        /**
+         * Maximum number of tasks kept in memory by the read-through cache of getTaskById, 0 disables caching.
+         */
+        @Min(0)
+        private long maximumSize = 10_000;
+        /**
+         * Upper bound on how long a cached task is served without going back to the database.
+         */
+        private Duration timeToLive = Duration.ofSeconds(30);
+    }
+
+    @Data
+    public static class Events {
+        /**
+         * Number of most recent changes kept to resume streams from a Last-Event-ID.
+         */
+        @Min(0)
+        private int replaySize = 1024;
+        /**
+         * Number of changes buffered for a subscriber that reads slower than changes arrive.
+         */
+        @Min(1)
+        private int subscriberBufferSize = 256;
+        /**
+         * What happens to a subscriber whose buffer is full.
+         */
+        private SlowSubscriberPolicy slowSubscriberPolicy = SlowSubscriberPolicy.DROP;
+        /**
+         * Interval of the comment lines that keep idle streams open through proxies.
+         */
+        private Duration heartbeatInterval = Duration.ofSeconds(15);
+    }
+
+    @Data
+    public static class RequestLogging {
+        /**
+         * Share of successful requests that get a log line, between 0 and 1.
+         */
+        @DecimalMin("0.0")
+        @DecimalMax("1.0")
+        private double sampleRate = 1.0;
+        /**
+         * Requests taking at least this long are always logged.
+         */
+        private Duration slowThreshold = Duration.ofSeconds(1);
+    }
+
+    @Data
+    public static class Pool {
+        /**
+         * R2DBC connections per Netty event loop, used to size the pool unless spring.r2dbc.pool.max-size is set.
+         * One connection is held permanently by the task change listener.
+         */
+        @Min(1)
+        private int connectionsPerEventLoop = 2;
+    }
+
+    @Data
+    public static class Export {
+        /**
+         * Connections reserved for exports, on top of the regular pool. Further exports wait for a free one.
+         */
+        @Min(1)
+        private int poolSize = 2;
+        /**
+         * How long an export waits for a free connection before it is rejected with 503.
+         */
+        private Duration maxAcquireTime = Duration.ofSeconds(5);
+        /**
+         * Rows fetched per round trip, also the number of rows written per response chunk.
+         */
+        @Min(1)
+        private int fetchSize = 1000;
+    }
+
+    @Data
+    public static class Stats {
+        /**
+         * How long fast mode counts are reused, which bounds how stale they can be.
+         */
+        private Duration cacheTtl = Duration.ofSeconds(5);
+        /**
+         * Interval at which the count deltas appended by task writes are added to the count totals.
+         */
+        private Duration foldInterval = Duration.ofSeconds(1);
+    }
+
+    @Data
+    public static class Idempotency {
+        /**
+         * How long the response to a request with an Idempotency-Key is replayed; after that the key can be reused.
+         */
+        private Duration keyTtl = Duration.ofHours(24);
+        /**
+         * Interval at which expired keys are deleted.
+         */
+        private Duration purgeInterval = Duration.ofMinutes(10);
+    }
+
+    @Data
+    public static class UpdateQueue {
+        /**
+         * Maximum number of tasks with a status or assignee change queued or being written, further tasks are
+         * rejected with 503.
+         */
+        @Min(1)
+        private int capacity = 100_000;
+        /**
+         * Number of queued changes written per UPDATE statement. Each change binds three parameters and
+         * Postgres accepts at most 65535 parameters per statement.
+         */
+        @Min(1)
+        @Max(20000)
+        private int batchSize = 500;
+        /**
+         * Longest time a queued change waits before it is written, unless a full batch is queued earlier.
+         */
+        private Duration flushInterval = Duration.ofMillis(200);
+    }
+
+    @Data
+    public static class Outbox {
+        /**
+         * Where task change events are published: "log" writes them to the task.outbox logger, "memory" keeps
+         * them in memory for tests.
+         */
+        private String sink = "log";
+        /**
+         * Number of events published and deleted per transaction.
+         */
+        @Min(1)
+        private int batchSize = 500;
+        /**
+         * Interval at which the outbox is checked for new events, which bounds the delivery delay.
+         */
+        private Duration pollInterval = Duration.ofMillis(500);
+    }
+
+    @Data
+    public static class History {
+        /**
+         * Number of monthly history partitions created ahead of the current month. At least the next month is
+         * needed, as task writes fail in a month without partition.
+         */
+        @Min(1)
+        private int partitionsAhead = 2;
+        /**
+         * Number of past months whose history is kept besides the current one, 0 keeps the history forever.
+         */
+        @Min(0)
+        private int retentionMonths = 0;
+        /**
+         * Interval at which partitions are created ahead and expired ones dropped.
+         */
+        private Duration maintenanceInterval = Duration.ofHours(1);
+    }
+
+    public enum SlowSubscriberPolicy {
+        /**
+         * Skip the changes that do not fit into the buffer.
+         */
+        DROP,
+        /**
+         * End the stream, the client reconnects with its Last-Event-ID.
+         */
+        DISCONNECT
+    }
+
+}
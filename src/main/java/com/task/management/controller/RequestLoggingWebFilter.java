@@ -0,0 +1,98 @@
+package com.task.management.controller;
+
+import com.task.management.config.TaskManagementProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Writes one line per request with its id, outcome, number of returned items and latency, so the log
+ * volume no longer depends on the size of the results. Server errors, requests whose handling errored and
+ * slow requests are always logged, every other request with the probability
+ * {@code task-management.request-logging.sample-rate}.
+ */
+@Component
+@Slf4j
+public class RequestLoggingWebFilter implements WebFilter, Ordered {
+
+    private static final String RESULT_COUNT_ATTRIBUTE = RequestLoggingWebFilter.class.getName() + ".resultCount";
+
+    private final TaskManagementProperties.RequestLogging properties;
+
+    public RequestLoggingWebFilter(TaskManagementProperties properties) {
+        this.properties = properties.getRequestLogging();
+    }
+
+    /**
+     * Counts the items of a streamed response body towards the request log line.
+     */
+    public static <T> Flux<T> countResults(ServerWebExchange exchange, Flux<T> results) {
+        AtomicLong resultCount = exchange.getAttribute(RESULT_COUNT_ATTRIBUTE);
+        return resultCount != null ? results.doOnNext(result -> resultCount.incrementAndGet()) : results;
+    }
+
+    /**
+     * Records the number of items of a collected response body for the request log line.
+     */
+    public static void recordResultCount(ServerWebExchange exchange, long count) {
+        AtomicLong resultCount = exchange.getAttribute(RESULT_COUNT_ATTRIBUTE);
+        if (resultCount != null) {
+            resultCount.set(count);
+        }
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        if (!log.isInfoEnabled()) {
+            return chain.filter(exchange);
+        }
+        var startNanos = System.nanoTime();
+        var resultCount = new AtomicLong();
+        exchange.getAttributes().put(RESULT_COUNT_ATTRIBUTE, resultCount);
+        return chain.filter(exchange)
+                .doFinally(signal -> {
+                    var latency = Duration.ofNanos(System.nanoTime() - startNanos);
+                    var status = exchange.getResponse().getStatusCode();
+                    if (shouldLog(status, latency, signal)) {
+                        var request = exchange.getRequest();
+                        log.info("request id={} method={} path={} status={} count={} latencyMs={} signal={}",
+                                request.getId(),
+                                request.getMethod(),
+                                request.getPath().value(),
+                                status != null ? status.value() : null,
+                                resultCount.get(),
+                                latency.toMillis(),
+                                signal);
+                    }
+                });
+    }
+
+    private boolean shouldLog(HttpStatusCode status, Duration latency, SignalType signal) {
+        // an error is only turned into a status by the exception handlers, after this filter
+        if (signal == SignalType.ON_ERROR || (status != null && status.is5xxServerError())) {
+            return true;
+        }
+        if (latency.compareTo(properties.getSlowThreshold()) >= 0) {
+            return true;
+        }
+        var sampleRate = properties.getSampleRate();
+        return sampleRate >= 1.0 || (sampleRate > 0.0 && ThreadLocalRandom.current().nextDouble() < sampleRate);
+    }
+
+}
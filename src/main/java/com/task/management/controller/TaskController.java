@@ -1,20 +1,52 @@
 package com.task.management.controller;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.task.management.api.TaskManagementApi;
+import com.task.management.common.TaskConstants;
+import com.task.management.common.TaskCsv;
+import com.task.management.common.TaskETag;
+import com.task.management.config.TaskManagementProperties;
+import com.task.management.dto.TaskBatchItemDto;
+import com.task.management.dto.TaskChangeEventDto;
 import com.task.management.dto.TaskCreateRequestDto;
 import com.task.management.dto.TaskDto;
+import com.task.management.dto.TaskEventDto;
+import com.task.management.dto.TaskFilter;
+import com.task.management.dto.TaskProjection;
+import com.task.management.dto.TaskQueuedUpdateRequestDto;
+import com.task.management.dto.TaskSearchResultDto;
+import com.task.management.dto.TaskStatsDto;
+import com.task.management.dto.TaskStatus;
 import com.task.management.dto.TaskUpdateDto;
 import com.task.management.dto.TaskUpdateRequestDto;
+import com.task.management.exception.IllegalTaskManagementOperationException;
+import com.task.management.service.TaskCursor;
+import com.task.management.service.TaskEventCursor;
+import com.task.management.service.TaskIdempotencyService;
+import com.task.management.service.TaskSearchCursor;
 import com.task.management.service.TaskService;
+import com.task.management.service.TaskStatsService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.nio.charset.StandardCharsets;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @RestController
@@ -22,44 +54,283 @@ import java.util.UUID;
 @Slf4j
 public class TaskController implements TaskManagementApi {
 
+    private static final MediaType TEXT_CSV = MediaType.parseMediaType("text/csv");
+
     private final TaskService taskService;
+    private final TaskStatsService taskStatsService;
+    private final TaskIdempotencyService taskIdempotencyService;
+    private final ObjectMapper objectMapper;
+    private final TaskManagementProperties properties;
 
     @Override
-    public Mono<ResponseEntity<Flux<TaskDto>>> getAllTasks(Integer page, Integer size, ServerWebExchange exchange) {
-        var taskStream = taskService.findAll(page, size);
-        return Mono.just(ResponseEntity.ok(taskStream));
+    public Mono<ResponseEntity<Flux<TaskDto>>> getAllTasks(Integer page,
+                                                           Integer size,
+                                                           String cursor,
+                                                           TaskStatus status,
+                                                           UUID ownerId,
+                                                           UUID assigneeId,
+                                                           ZonedDateTime createdFrom,
+                                                           ZonedDateTime createdTo,
+                                                           ZonedDateTime modifiedFrom,
+                                                           ZonedDateTime modifiedTo,
+                                                           String count,
+                                                           String fields,
+                                                           ServerWebExchange exchange) {
+        var filter = filter(status, ownerId, assigneeId, createdFrom, createdTo, modifiedFrom, modifiedTo);
+        var projection = TaskProjection.of(fields);
+        var totalCount = totalCount(filter, count);
+        if (isStreamingRequest(exchange)) {
+            var taskStream = size == 0 && cursor == null
+                    ? taskService.streamAll(filter, projection)
+                    : listTasks(filter, projection, page, size, cursor);
+            return totalCount.map(total -> ResponseEntity.ok()
+                    .headers(headers -> total.ifPresent(value -> headers.set(TaskConstants.TOTAL_COUNT_HEADER, value.toString())))
+                    .body(RequestLoggingWebFilter.countResults(exchange, taskStream)));
+        }
+        return Mono.zip(listTasks(filter, projection, page, size, cursor).collectList(), totalCount)
+                .doOnNext(result -> RequestLoggingWebFilter.recordResultCount(exchange, result.getT1().size()))
+                .map(result -> ResponseEntity.ok()
+                        .headers(headers -> {
+                            nextCursor(result.getT1(), size)
+                                    .ifPresent(nextCursor -> headers.set(TaskConstants.NEXT_CURSOR_HEADER, nextCursor));
+                            result.getT2()
+                                    .ifPresent(total -> headers.set(TaskConstants.TOTAL_COUNT_HEADER, total.toString()));
+                        })
+                        .body(Flux.fromIterable(result.getT1())));
     }
 
     @Override
-    public Mono<ResponseEntity<TaskDto>> getTaskById(UUID id, ServerWebExchange exchange) {
-        return taskService.findById(id)
+    public Mono<ResponseEntity<TaskStatsDto>> getTaskStats(String mode, ServerWebExchange exchange) {
+        var exact = "exact".equalsIgnoreCase(mode);
+        if (!exact && mode != null && !"fast".equalsIgnoreCase(mode)) {
+            return Mono.error(new IllegalTaskManagementOperationException("Invalid stats mode:{%s}".formatted(mode)));
+        }
+        return taskStatsService.getStats(exact)
                 .map(ResponseEntity::ok);
     }
 
     @Override
-    public Mono<ResponseEntity<TaskDto>> createTask(Mono<TaskCreateRequestDto> taskCreateRequestDto, ServerWebExchange exchange) {
-        return taskCreateRequestDto
-                .map(taskService::save)
-                .flatMap(taskDtoMono -> taskDtoMono.map(
-                        taskDto -> ResponseEntity.status(HttpStatus.CREATED).body(taskDto)
-                ));
+    public Mono<ResponseEntity<Flux<TaskSearchResultDto>>> searchTasks(String q,
+                                                                       Integer size,
+                                                                       String cursor,
+                                                                       TaskStatus status,
+                                                                       UUID ownerId,
+                                                                       UUID assigneeId,
+                                                                       ServerWebExchange exchange) {
+        var filter = filter(status, ownerId, assigneeId, null, null, null, null);
+        return taskService.search(q, filter, cursor, size).collectList()
+                .doOnNext(results -> RequestLoggingWebFilter.recordResultCount(exchange, results.size()))
+                .map(results -> ResponseEntity.ok()
+                        .headers(headers -> nextSearchCursor(results, size)
+                                .ifPresent(nextCursor -> headers.set(TaskConstants.NEXT_CURSOR_HEADER, nextCursor)))
+                        .body(Flux.fromIterable(results)));
+    }
+
+    @Override
+    public Mono<ResponseEntity<Flux<DataBuffer>>> exportTasks(String format,
+                                                              TaskStatus status,
+                                                              UUID ownerId,
+                                                              UUID assigneeId,
+                                                              ZonedDateTime createdFrom,
+                                                              ZonedDateTime createdTo,
+                                                              ZonedDateTime modifiedFrom,
+                                                              ZonedDateTime modifiedTo,
+                                                              ServerWebExchange exchange) {
+        var csv = "csv".equalsIgnoreCase(format);
+        if (!csv && format != null && !"ndjson".equalsIgnoreCase(format)) {
+            return Mono.error(new IllegalTaskManagementOperationException("Invalid export format:{%s}".formatted(format)));
+        }
+        var filter = filter(status, ownerId, assigneeId, createdFrom, createdTo, modifiedFrom, modifiedTo);
+        var bufferFactory = exchange.getResponse().bufferFactory();
+        var tasks = RequestLoggingWebFilter.countResults(exchange, taskService.export(filter));
+        // one chunk per fetched batch of rows keeps writes and flushes independent of the row count
+        var lines = tasks.buffer(properties.getExport().getFetchSize())
+                .map(chunk -> csv ? csvLines(chunk) : ndjsonLines(chunk));
+        var body = (csv ? Flux.just(TaskCsv.HEADER).concatWith(lines) : lines)
+                .map(text -> bufferFactory.wrap(text.getBytes(StandardCharsets.UTF_8)));
+        return Mono.just(ResponseEntity.ok()
+                .contentType(csv ? TEXT_CSV : MediaType.APPLICATION_NDJSON)
+                .body(body));
+    }
+
+    @Override
+    public Mono<ResponseEntity<TaskDto>> getTaskById(UUID id, String fields, String ifNoneMatch, ServerWebExchange exchange) {
+        var projection = TaskProjection.of(fields);
+        // the single task comes whole from the entity cache, so the projection only trims the response
+        return taskService.findById(id)
+                .map(taskDto -> {
+                    var eTag = TaskETag.of(taskDto.getVersion(), projection.tag());
+                    if (TaskETag.matches(ifNoneMatch, taskDto.getVersion(), projection.tag())) {
+                        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                                .eTag(eTag)
+                                .varyBy(HttpHeaders.ACCEPT)
+                                .<TaskDto>build();
+                    }
+                    return ResponseEntity.ok()
+                            .eTag(eTag)
+                            .varyBy(HttpHeaders.ACCEPT)
+                            .body(projection.apply(taskDto));
+                });
+    }
+
+    @Override
+    public Mono<ResponseEntity<Flux<TaskEventDto>>> getTaskHistory(UUID id, Integer size, String cursor, ServerWebExchange exchange) {
+        return taskService.findHistory(id, cursor, size).collectList()
+                .doOnNext(events -> RequestLoggingWebFilter.recordResultCount(exchange, events.size()))
+                .map(events -> ResponseEntity.ok()
+                        .headers(headers -> nextHistoryCursor(events, size)
+                                .ifPresent(nextCursor -> headers.set(TaskConstants.NEXT_CURSOR_HEADER, nextCursor)))
+                        .body(Flux.fromIterable(events)));
+    }
+
+    @Override
+    public Mono<ResponseEntity<TaskDto>> createTask(Mono<TaskCreateRequestDto> taskCreateRequestDto, String idempotencyKey, ServerWebExchange exchange) {
+        var savedTask = idempotencyKey != null
+                ? taskIdempotencyService.execute(idempotencyKey, "createTask", taskCreateRequestDto, taskService::save, TaskDto.class)
+                : taskCreateRequestDto.flatMap(taskService::save);
+        return savedTask.map(taskDto -> ResponseEntity.status(HttpStatus.CREATED).body(taskDto));
     }
 
     @Override
-    public Mono<ResponseEntity<TaskDto>> updateTaskById(UUID id, Mono<TaskUpdateRequestDto> taskUpdateRequestDto, ServerWebExchange exchange) {
+    public Mono<ResponseEntity<Flux<TaskBatchItemDto>>> createTasks(Flux<TaskCreateRequestDto> taskCreateRequestDto, String idempotencyKey, ServerWebExchange exchange) {
+        var batch = idempotencyKey != null
+                ? taskIdempotencyService.executeMany(idempotencyKey, "createTasks", taskCreateRequestDto, taskService::saveAll, TaskBatchItemDto.class)
+                : taskService.saveAll(taskCreateRequestDto);
+        // the status line is only sent once the transaction committed, so a 201 never lists tasks that were rolled back
+        return batch.collectList()
+                .doOnNext(items -> RequestLoggingWebFilter.recordResultCount(exchange, items.size()))
+                .map(items -> ResponseEntity.status(HttpStatus.CREATED).body(Flux.fromIterable(items)));
+    }
+
+    @Override
+    public Mono<ResponseEntity<TaskDto>> updateTaskById(UUID id, Mono<TaskUpdateRequestDto> taskUpdateRequestDto, String ifMatch, ServerWebExchange exchange) {
         return taskUpdateRequestDto
                 .map(updateRequest -> taskService.update(TaskUpdateDto.builder()
                         .id(id)
+                        .expectedVersion(TaskETag.expectedVersion(ifMatch))
                         .taskUpdateRequestDto(updateRequest)
                         .build()))
-                .flatMap(taskDtoMono -> taskDtoMono.map(ResponseEntity::ok));
+                .flatMap(taskDtoMono -> taskDtoMono.map(taskDto -> ResponseEntity.ok()
+                        .eTag(TaskETag.of(taskDto.getVersion()))
+                        .body(taskDto)));
+    }
+
+    @Override
+    public Mono<ResponseEntity<Void>> queueTaskUpdate(UUID id, Mono<TaskQueuedUpdateRequestDto> taskQueuedUpdateRequestDto, ServerWebExchange exchange) {
+        return taskQueuedUpdateRequestDto
+                .flatMap(updateRequest -> taskService.queueUpdate(id, updateRequest))
+                .then(Mono.fromSupplier(() -> ResponseEntity.accepted().<Void>build()));
     }
 
     @Override
     public Mono<ResponseEntity<Void>> deleteTaskById(UUID id, ServerWebExchange exchange) {
-        log.info("Delete task by id {}", id);
         return taskService.delete(id)
                 .map(deletedTaskId -> ResponseEntity.noContent().build());
     }
 
+    @Override
+    public Mono<ResponseEntity<Flux<UUID>>> deleteTasks(TaskStatus status, ZonedDateTime olderThan, ServerWebExchange exchange) {
+        var filter = TaskFilter.builder()
+                .status(com.task.management.model.TaskStatus.valueOf(status.getValue()))
+                .createdTo(olderThan)
+                .build();
+        return Mono.just(ResponseEntity.ok(RequestLoggingWebFilter.countResults(exchange, taskService.deleteAll(filter))));
+    }
+
+    /**
+     * Declared here rather than generated from the contract, which cannot express typed Server-Sent Events.
+     */
+    @GetMapping(value = "/tasks/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Mono<ResponseEntity<Flux<ServerSentEvent<TaskChangeEventDto>>>> streamTaskChanges(
+            @RequestParam(value = "ownerId", required = false) UUID ownerId,
+            @RequestParam(value = "assigneeId", required = false) UUID assigneeId,
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventID) {
+        return Mono.just(ResponseEntity.ok()
+                .contentType(MediaType.TEXT_EVENT_STREAM)
+                .body(taskService.streamChanges(ownerId, assigneeId, lastEventID)));
+    }
+
+    private static TaskFilter filter(TaskStatus status,
+                                     UUID ownerId,
+                                     UUID assigneeId,
+                                     ZonedDateTime createdFrom,
+                                     ZonedDateTime createdTo,
+                                     ZonedDateTime modifiedFrom,
+                                     ZonedDateTime modifiedTo) {
+        return TaskFilter.builder()
+                .status(status != null ? com.task.management.model.TaskStatus.valueOf(status.getValue()) : null)
+                .ownerId(ownerId)
+                .assigneeId(assigneeId)
+                .createdFrom(createdFrom)
+                .createdTo(createdTo)
+                .modifiedFrom(modifiedFrom)
+                .modifiedTo(modifiedTo)
+                .build();
+    }
+
+    private Mono<Optional<Long>> totalCount(TaskFilter filter, String count) {
+        if (count == null || "none".equalsIgnoreCase(count)) {
+            return Mono.just(Optional.empty());
+        }
+        if (!"estimated".equalsIgnoreCase(count) && !"exact".equalsIgnoreCase(count)) {
+            return Mono.error(new IllegalTaskManagementOperationException("Invalid count mode:{%s}".formatted(count)));
+        }
+        return taskStatsService.countTasks(filter, "exact".equalsIgnoreCase(count))
+                .map(Optional::of);
+    }
+
+    private Flux<TaskDto> listTasks(TaskFilter filter, TaskProjection projection, int page, int size, String cursor) {
+        return cursor != null
+                ? taskService.findAllAfter(filter, projection, cursor, size)
+                : taskService.findAll(filter, projection, page, size);
+    }
+
+    private String csvLines(List<TaskDto> tasks) {
+        var csv = new StringBuilder();
+        tasks.forEach(task -> TaskCsv.appendRow(csv, task));
+        return csv.toString();
+    }
+
+    private String ndjsonLines(List<TaskDto> tasks) {
+        var ndjson = new StringBuilder();
+        for (var task : tasks) {
+            try {
+                ndjson.append(objectMapper.writeValueAsString(task)).append('\n');
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException("Could not serialize task " + task.getId(), e);
+            }
+        }
+        return ndjson.toString();
+    }
+
+    private static boolean isStreamingRequest(ServerWebExchange exchange) {
+        return exchange.getRequest().getHeaders().getAccept().stream()
+                .anyMatch(mediaType -> MediaType.APPLICATION_NDJSON.equalsTypeAndSubtype(mediaType)
+                        || MediaType.TEXT_EVENT_STREAM.equalsTypeAndSubtype(mediaType));
+    }
+
+    private Optional<String> nextSearchCursor(List<TaskSearchResultDto> results, int size) {
+        if (results.isEmpty() || results.size() < size) {
+            return Optional.empty();
+        }
+        var lastResult = results.get(results.size() - 1);
+        return Optional.of(new TaskSearchCursor(lastResult.getRank(), lastResult.getTask().getId()).encode());
+    }
+
+    private Optional<String> nextHistoryCursor(List<TaskEventDto> events, int size) {
+        if (events.isEmpty() || events.size() < size) {
+            return Optional.empty();
+        }
+        var lastEvent = events.get(events.size() - 1);
+        return Optional.of(new TaskEventCursor(lastEvent.getTime(), lastEvent.getId()).encode());
+    }
+
+    private Optional<String> nextCursor(List<TaskDto> tasks, int size) {
+        if (tasks.isEmpty() || tasks.size() < size) {
+            return Optional.empty();
+        }
+        var lastTask = tasks.get(tasks.size() - 1);
+        return Optional.of(new TaskCursor(lastTask.getCreationDate(), lastTask.getId()).encode());
+    }
+
 }
@@ -0,0 +1,25 @@
+package com.task.management.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.task.management.model.TaskField;
+
+/**
+ * A task restricted to the fields of a {@link TaskProjection}. The fields left out are null and, unlike in a
+ * whole task, omitted from the JSON instead of written as null.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ProjectedTaskDto extends TaskDto {
+
+    ProjectedTaskDto(TaskDto task, TaskProjection projection) {
+        super(task.getId(),
+                projection.includes(TaskField.TITLE) ? task.getTitle() : null,
+                projection.includes(TaskField.DESCRIPTION) ? task.getDescription() : null,
+                task.getCreationDate(),
+                projection.includes(TaskField.MODIFICATION_DATE) ? task.getModificationDate() : null,
+                projection.includes(TaskField.STATUS) ? task.getStatus() : null,
+                projection.includes(TaskField.OWNER_ID) ? task.getOwnerId() : null,
+                projection.includes(TaskField.ASSIGNEE_ID) ? task.getAssigneeId() : null,
+                projection.includes(TaskField.VERSION) ? task.getVersion() : null);
+    }
+
+}
@@ -0,0 +1,23 @@
+package com.task.management.dto;
+
+import com.task.management.model.TaskStatus;
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.ZonedDateTime;
+import java.util.UUID;
+
+@Builder
+@Value
+public class TaskFilter {
+
+    public static final TaskFilter NONE = TaskFilter.builder().build();
+
+    TaskStatus status;
+    UUID ownerId;
+    UUID assigneeId;
+    ZonedDateTime createdFrom;
+    ZonedDateTime createdTo;
+    ZonedDateTime modifiedFrom;
+    ZonedDateTime modifiedTo;
+}
@@ -0,0 +1,78 @@
+package com.task.management.dto;
+
+import com.task.management.exception.IllegalTaskManagementOperationException;
+import com.task.management.model.TaskField;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Value;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * The task fields requested by a caller. {@code id} and {@code creationDate} are always part of it, as they
+ * identify the task and form the keyset cursor of listings.
+ */
+@Value
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class TaskProjection {
+
+    private static final Set<TaskField> ALWAYS_INCLUDED = EnumSet.of(TaskField.ID, TaskField.CREATION_DATE);
+
+    public static final TaskProjection ALL = new TaskProjection(EnumSet.allOf(TaskField.class));
+
+    Set<TaskField> fields;
+
+    /**
+     * Parses a comma separated list of field names, e.g. {@code id,title,status}; no list selects every field.
+     */
+    public static TaskProjection of(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return ALL;
+        }
+        var selected = EnumSet.copyOf(ALWAYS_INCLUDED);
+        for (var name : fields.split(",")) {
+            var property = name.trim();
+            selected.add(Arrays.stream(TaskField.values())
+                    .filter(field -> field.getProperty().equals(property))
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalTaskManagementOperationException("Invalid field:{%s}".formatted(property))));
+        }
+        return selected.size() == TaskField.values().length ? ALL : new TaskProjection(selected);
+    }
+
+    public boolean includes(TaskField field) {
+        return fields.contains(field);
+    }
+
+    public boolean isAll() {
+        return fields.size() == TaskField.values().length;
+    }
+
+    /**
+     * @return a short stable name of the selected fields, which sets the entity tags of the projection apart from
+     * those of the whole task and of other projections, or null when every field is selected
+     */
+    public String tag() {
+        if (isAll()) {
+            return null;
+        }
+        var mask = 0;
+        for (var field : fields) {
+            mask |= 1 << field.ordinal();
+        }
+        return Integer.toHexString(mask);
+    }
+
+    /**
+     * @return a copy of the task holding only the selected fields, or the task itself when every field is selected
+     */
+    public TaskDto apply(TaskDto task) {
+        if (isAll()) {
+            return task;
+        }
+        return new ProjectedTaskDto(task, this);
+    }
+
+}
@@ -12,5 +12,6 @@ import java.util.UUID;
 public class TaskUpdateDto {
     @NotNull
     UUID id;
+    Long expectedVersion;
     TaskUpdateRequestDto taskUpdateRequestDto;
 }
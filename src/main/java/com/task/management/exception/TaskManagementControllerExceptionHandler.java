@@ -1,7 +1,11 @@
 package com.task.management.exception;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.validation.ConstraintViolationException;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -13,9 +17,12 @@ import org.springframework.web.server.UnsupportedMediaTypeStatusException;
 import java.time.ZonedDateTime;
 
 @RestControllerAdvice
+@RequiredArgsConstructor
 @Slf4j
 public class TaskManagementControllerExceptionHandler {
 
+    private final MeterRegistry meterRegistry;
+
     @ExceptionHandler({TaskNotFoundException.class})
     public ResponseEntity<ErrorMessage> handleTaskNotFoundException(TaskNotFoundException e) {
         return buildErrorMessage(HttpStatus.NOT_FOUND, e.getMessage(), e);
@@ -36,6 +43,16 @@ public class TaskManagementControllerExceptionHandler {
         return buildErrorMessage(HttpStatus.BAD_REQUEST, e.getMessage(), e);
     }
 
+    @ExceptionHandler({TaskVersionConflictException.class})
+    public ResponseEntity<ErrorMessage> handleTaskVersionConflictException(TaskVersionConflictException e) {
+        return buildErrorMessage(HttpStatus.PRECONDITION_FAILED, e.getMessage(), e);
+    }
+
+    @ExceptionHandler({IdempotencyKeyReusedException.class})
+    public ResponseEntity<ErrorMessage> handleIdempotencyKeyReusedException(IdempotencyKeyReusedException e) {
+        return buildErrorMessage(HttpStatus.UNPROCESSABLE_ENTITY, e.getMessage(), e);
+    }
+
     @ExceptionHandler({UnsupportedMediaTypeStatusException.class})
     public ResponseEntity<ErrorMessage> handleUnsupportedMediaTypeStatusException(UnsupportedMediaTypeStatusException e) {
         return buildErrorMessage(HttpStatus.UNSUPPORTED_MEDIA_TYPE, e.getMessage(), e);
@@ -47,6 +64,16 @@ public class TaskManagementControllerExceptionHandler {
         return buildErrorMessage(HttpStatus.BAD_REQUEST, message,e);
     }
 
+    @ExceptionHandler({DataAccessResourceFailureException.class})
+    public ResponseEntity<ErrorMessage> handleDataAccessResourceFailureException(DataAccessResourceFailureException e) {
+        return buildOverloadedMessage("The service is temporarily overloaded", e);
+    }
+
+    @ExceptionHandler({TaskUpdateQueueFullException.class})
+    public ResponseEntity<ErrorMessage> handleTaskUpdateQueueFullException(TaskUpdateQueueFullException e) {
+        return buildOverloadedMessage(e.getMessage(), e);
+    }
+
     @ExceptionHandler({Exception.class})
     public ResponseEntity<ErrorMessage> handleException(Exception e) {
         return buildErrorMessage(HttpStatus.INTERNAL_SERVER_ERROR, "An Internal Error occurred",e);
@@ -54,7 +81,30 @@ public class TaskManagementControllerExceptionHandler {
 
 
     private ResponseEntity<ErrorMessage> buildErrorMessage(HttpStatus httpStatus, String message, Exception e) {
-        log.error(message, e);
+        if (httpStatus.is5xxServerError()) {
+            log.error(message, e);
+        } else {
+            log.debug(message, e);
+        }
+        return errorResponse(httpStatus, message, e);
+    }
+
+    /**
+     * Rejections under overload come in bursts, so they are logged in one line each instead of with a stack
+     * trace per request, which would only add to the load.
+     */
+    private ResponseEntity<ErrorMessage> buildOverloadedMessage(String message, Exception e) {
+        log.warn("{}: {}", message, e.getMessage());
+        var errorMessage = errorResponse(HttpStatus.SERVICE_UNAVAILABLE, message, e);
+        return ResponseEntity.status(errorMessage.getStatusCode())
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(errorMessage.getBody());
+    }
+
+    private ResponseEntity<ErrorMessage> errorResponse(HttpStatus httpStatus, String message, Exception e) {
+        meterRegistry.counter("task.management.errors",
+                "exception", e.getClass().getSimpleName(),
+                "status", String.valueOf(httpStatus.value())).increment();
         var errorBody = ErrorMessage.builder()
                 .message(message)
                 .status(httpStatus.value())
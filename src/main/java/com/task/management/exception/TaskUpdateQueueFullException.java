@@ -0,0 +1,7 @@
+package com.task.management.exception;
+
+public class TaskUpdateQueueFullException extends RuntimeException {
+    public TaskUpdateQueueFullException(String message) {
+        super(message);
+    }
+}
@@ -7,6 +7,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.experimental.FieldDefaults;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
 import org.springframework.data.relational.core.mapping.Table;
 
 import java.time.ZonedDateTime;
@@ -29,5 +30,7 @@ public class Task {
     TaskStatus status;
     UUID ownerId;
     UUID assigneeId;
+    @Version
+    Long version;
 
 }
@@ -0,0 +1,35 @@
+package com.task.management.model;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.UUID;
+
+/**
+ * A committed change of a task as announced by the database. The sequence is assigned by the database,
+ * so it identifies the same change on every instance.
+ */
+@Builder
+@Value
+public class TaskChange {
+    long sequence;
+    TaskChangeType type;
+    UUID taskId;
+    UUID ownerId;
+    UUID assigneeId;
+    TaskStatus status;
+
+    /**
+     * Marks that the changes from {@code sequence} on were skipped for a slow subscriber, or that the changes
+     * after {@code sequence} can no longer be replayed.
+     */
+    public static TaskChange gap(long sequence) {
+        return TaskChange.builder()
+                .sequence(sequence)
+                .build();
+    }
+
+    public boolean isGap() {
+        return type == null;
+    }
+}
@@ -0,0 +1,21 @@
+package com.task.management.model;
+
+import lombok.AllArgsConstructor;
+
+import java.util.stream.Stream;
+
+@AllArgsConstructor
+public enum TaskChangeType {
+    CREATED("INSERT"),
+    UPDATED("UPDATE"),
+    DELETED("DELETE");
+
+    private final String operation;
+
+    public static TaskChangeType fromOperation(String operation) {
+        return Stream.of(values())
+                .filter(type -> type.operation.equals(operation))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown task operation: " + operation));
+    }
+}
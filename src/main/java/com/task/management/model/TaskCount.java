@@ -0,0 +1,20 @@
+package com.task.management.model;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.UUID;
+
+/**
+ * Number of tasks in a status, optionally for a single owner or assignee.
+ */
+@Builder
+@Value
+public class TaskCount {
+
+    TaskStatus status;
+    UUID ownerId;
+    UUID assigneeId;
+    long count;
+
+}
@@ -0,0 +1,21 @@
+package com.task.management.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * The ways task counts are grouped, with the summary view giving the current counts of each of them and
+ * the column of the task table it groups by besides the status.
+ */
+@Getter
+@AllArgsConstructor
+public enum TaskCountGrouping {
+
+    STATUS("task_status_count_current", null),
+    OWNER("task_owner_count_current", "owner_id"),
+    ASSIGNEE("task_assignee_count_current", "assignee_id");
+
+    private final String summaryView;
+    private final String column;
+
+}
@@ -0,0 +1,25 @@
+package com.task.management.model;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.ZonedDateTime;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * One entry of the history of a task. {@code changes} holds the new values of the fields the change modified,
+ * with the status as its stored code, and is null for deletions.
+ */
+@Builder
+@Value
+public class TaskEvent {
+
+    long id;
+    UUID taskId;
+    TaskChangeType type;
+    ZonedDateTime time;
+    Long version;
+    Map<String, Object> changes;
+
+}
@@ -0,0 +1,27 @@
+package com.task.management.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * The fields of a task that can be selected by the {@code fields} parameter, with the property name used by the
+ * API and the column of the task table it is read from.
+ */
+@Getter
+@AllArgsConstructor
+public enum TaskField {
+
+    ID("id", "id"),
+    TITLE("title", "title"),
+    DESCRIPTION("description", "description"),
+    CREATION_DATE("creationDate", "creation_date"),
+    MODIFICATION_DATE("modificationDate", "modification_date"),
+    STATUS("status", "status"),
+    OWNER_ID("ownerId", "owner_id"),
+    ASSIGNEE_ID("assigneeId", "assignee_id"),
+    VERSION("version", "version");
+
+    private final String property;
+    private final String column;
+
+}
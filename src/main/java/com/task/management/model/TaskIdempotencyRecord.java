@@ -0,0 +1,18 @@
+package com.task.management.model;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * The outcome of a request made with an idempotency key: the hash of the request and the response sent for it,
+ * one JSON document per line.
+ */
+@Builder
+@Value
+public class TaskIdempotencyRecord {
+
+    String operation;
+    String requestHash;
+    String response;
+
+}
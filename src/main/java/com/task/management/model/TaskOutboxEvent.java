@@ -0,0 +1,25 @@
+package com.task.management.model;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.ZonedDateTime;
+import java.util.UUID;
+
+/**
+ * A change of a task recorded in the outbox by the transaction that made it. The {@code task} is the JSON
+ * state of the task after the change, or before it for a deletion.
+ */
+@Builder
+@Value
+public class TaskOutboxEvent {
+
+    long id;
+    TaskChangeType type;
+    UUID taskId;
+    ZonedDateTime createdAt;
+    @JsonRawValue
+    String task;
+
+}
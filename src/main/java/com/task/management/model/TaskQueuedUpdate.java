@@ -0,0 +1,28 @@
+package com.task.management.model;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.UUID;
+
+/**
+ * A status and/or assignee change accepted for a task but not yet written. Null fields keep their current value.
+ */
+@Builder
+@Value
+public class TaskQueuedUpdate {
+
+    UUID id;
+    TaskStatus status;
+    UUID assigneeId;
+
+    /**
+     * @return the update that has the same effect as applying this one and then the later one
+     */
+    public TaskQueuedUpdate mergedWith(TaskQueuedUpdate later) {
+        return new TaskQueuedUpdate(id,
+                later.status != null ? later.status : status,
+                later.assigneeId != null ? later.assigneeId : assigneeId);
+    }
+
+}
@@ -0,0 +1,11 @@
+package com.task.management.model;
+
+import lombok.Value;
+
+@Value
+public class TaskSearchHit {
+
+    Task task;
+    float rank;
+
+}
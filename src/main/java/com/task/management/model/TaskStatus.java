@@ -1,10 +1,30 @@
 package com.task.management.model;
 
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.stream.Stream;
+
+/**
+ * Task lifecycle states. The {@code code} is what is stored in the {@code task.status} SMALLINT column,
+ * so existing codes must never be changed or reused.
+ */
+@Getter
+@AllArgsConstructor
 public enum TaskStatus {
-    TODO,
-    IN_PROGRESS,
-    UNDER_REVIEW,
-    APPROVED,
-    DONE,
-    CANCELLED
+    TODO((short) 0),
+    IN_PROGRESS((short) 1),
+    UNDER_REVIEW((short) 2),
+    APPROVED((short) 3),
+    DONE((short) 4),
+    CANCELLED((short) 5);
+
+    private final short code;
+
+    public static TaskStatus fromCode(short code) {
+        return Stream.of(values())
+                .filter(status -> status.code == code)
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown task status code: " + code));
+    }
 }
@@ -0,0 +1,24 @@
+package com.task.management.repository;
+
+import com.task.management.model.Task;
+import com.task.management.model.TaskQueuedUpdate;
+import reactor.core.publisher.Flux;
+
+import java.util.List;
+import java.util.UUID;
+
+public interface TaskBatchRepository {
+
+    /**
+     * Inserts all tasks with a single multi-row INSERT and emits the stored rows in the order of the input.
+     */
+    Flux<Task> insertAll(List<Task> tasks);
+
+    /**
+     * Applies all updates with a single UPDATE joined to a VALUES list and emits the ids of the updated tasks.
+     * Updates that would leave a task in IN_PROGRESS, UNDER_REVIEW, APPROVED or DONE without an assignee are
+     * skipped, like in {@link TaskRepository#updateIfValid}.
+     */
+    Flux<UUID> updateAll(List<TaskQueuedUpdate> updates);
+
+}
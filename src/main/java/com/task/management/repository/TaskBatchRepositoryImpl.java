@@ -0,0 +1,84 @@
+package com.task.management.repository;
+
+import com.task.management.model.Task;
+import com.task.management.model.TaskQueuedUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+@RequiredArgsConstructor
+public class TaskBatchRepositoryImpl implements TaskBatchRepository {
+
+    private static final String INSERT = "INSERT INTO task (title, description, creation_date, status, owner_id, assignee_id) VALUES ";
+    private static final String ROW = "(:title%1$d, :description%1$d, :creationDate%1$d, :status%1$d, :ownerId%1$d, :assigneeId%1$d)";
+    private static final String UPDATE = """
+            UPDATE task SET
+                assignee_id = COALESCE(u.assignee_id, task.assignee_id),
+                status = COALESCE(u.status, task.status),
+                modification_date = now(),
+                version = task.version + 1
+            FROM (VALUES %s) AS u (id, status, assignee_id)
+            WHERE task.id = u.id
+              AND NOT (COALESCE(u.assignee_id, task.assignee_id) IS NULL AND COALESCE(u.status, task.status) IN (""" + TaskColumns.ASSIGNED_STATUSES + """
+            ))
+            RETURNING task.id
+            """;
+    private static final String UPDATE_ROW = "(CAST(:id%1$d AS UUID), CAST(:status%1$d AS SMALLINT), CAST(:assigneeId%1$d AS UUID))";
+
+    private final R2dbcEntityTemplate template;
+
+    @Override
+    public Flux<Task> insertAll(List<Task> tasks) {
+        if (tasks.isEmpty()) {
+            return Flux.empty();
+        }
+        var values = IntStream.range(0, tasks.size())
+                .mapToObj(i -> ROW.formatted(i))
+                .collect(Collectors.joining(", "));
+        var spec = template.getDatabaseClient().sql(INSERT + values + " RETURNING " + TaskColumns.ALL);
+        for (int i = 0; i < tasks.size(); i++) {
+            var task = tasks.get(i);
+            spec = bind(spec, "title" + i, task.getTitle(), String.class);
+            spec = bind(spec, "description" + i, task.getDescription(), String.class);
+            spec = spec.bind("creationDate" + i, task.getCreationDate().toOffsetDateTime());
+            spec = spec.bind("status" + i, task.getStatus().getCode());
+            spec = bind(spec, "ownerId" + i, task.getOwnerId(), UUID.class);
+            spec = bind(spec, "assigneeId" + i, task.getAssigneeId(), UUID.class);
+        }
+        return spec.map((row, metadata) -> template.getConverter().read(Task.class, row, metadata))
+                .all();
+    }
+
+    @Override
+    public Flux<UUID> updateAll(List<TaskQueuedUpdate> updates) {
+        if (updates.isEmpty()) {
+            return Flux.empty();
+        }
+        var values = IntStream.range(0, updates.size())
+                .mapToObj(i -> UPDATE_ROW.formatted(i))
+                .collect(Collectors.joining(", "));
+        var spec = template.getDatabaseClient().sql(UPDATE.formatted(values));
+        for (int i = 0; i < updates.size(); i++) {
+            var update = updates.get(i);
+            spec = spec.bind("id" + i, update.getId());
+            spec = bind(spec, "status" + i, update.getStatus() != null ? update.getStatus().getCode() : null, Short.class);
+            spec = bind(spec, "assigneeId" + i, update.getAssigneeId(), UUID.class);
+        }
+        return spec.map(row -> row.get("id", UUID.class))
+                .all();
+    }
+
+    private static DatabaseClient.GenericExecuteSpec bind(DatabaseClient.GenericExecuteSpec spec,
+                                                          String name,
+                                                          Object value,
+                                                          Class<?> type) {
+        return value != null ? spec.bind(name, value) : spec.bindNull(name, type);
+    }
+
+}
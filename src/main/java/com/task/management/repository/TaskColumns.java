@@ -0,0 +1,41 @@
+package com.task.management.repository;
+
+import com.task.management.dto.TaskProjection;
+import com.task.management.model.TaskField;
+
+import java.util.stream.Collectors;
+
+/**
+ * Columns mapped by {@link com.task.management.model.Task}. Queries select them explicitly instead of
+ * {@code *} so that derived columns such as the search vector are never sent back to the application.
+ */
+final class TaskColumns {
+
+    static final String ALL = "id, title, description, creation_date, modification_date, status, owner_id, assignee_id, version";
+    /**
+     * Status codes a task may only be in with an assignee. {@code task_status_code} is immutable, so the
+     * planner folds these to constants.
+     */
+    static final String ASSIGNED_STATUSES = "task_status_code('IN_PROGRESS'), task_status_code('UNDER_REVIEW'), "
+            + "task_status_code('APPROVED'), task_status_code('DONE')";
+    /**
+     * Status codes a task may be deleted in.
+     */
+    static final String REMOVABLE_STATUSES = "task_status_code('TODO'), task_status_code('CANCELLED')";
+
+    private TaskColumns() {
+    }
+
+    /**
+     * @return the columns of the projection; those left out are read back as null
+     */
+    static String of(TaskProjection projection) {
+        if (projection.isAll()) {
+            return ALL;
+        }
+        return projection.getFields().stream()
+                .map(TaskField::getColumn)
+                .collect(Collectors.joining(", "));
+    }
+
+}
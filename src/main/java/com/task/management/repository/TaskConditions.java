@@ -0,0 +1,70 @@
+package com.task.management.repository;
+
+import com.task.management.dto.TaskFilter;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * WHERE clause of a task query that only contains the predicates of the given filter, together with
+ * the values to bind.
+ */
+final class TaskConditions {
+
+    private final List<String> clauses = new ArrayList<>();
+    private final Map<String, Object> bindings = new LinkedHashMap<>();
+
+    static TaskConditions of(TaskFilter filter) {
+        var conditions = new TaskConditions();
+        if (filter.getStatus() != null) {
+            conditions.add("status = :status", "status", filter.getStatus().getCode());
+        }
+        if (filter.getOwnerId() != null) {
+            conditions.add("owner_id = :ownerId", "ownerId", filter.getOwnerId());
+        }
+        if (filter.getAssigneeId() != null) {
+            conditions.add("assignee_id = :assigneeId", "assigneeId", filter.getAssigneeId());
+        }
+        if (filter.getCreatedFrom() != null) {
+            conditions.add("creation_date >= :createdFrom", "createdFrom", filter.getCreatedFrom().toOffsetDateTime());
+        }
+        if (filter.getCreatedTo() != null) {
+            conditions.add("creation_date < :createdTo", "createdTo", filter.getCreatedTo().toOffsetDateTime());
+        }
+        if (filter.getModifiedFrom() != null) {
+            conditions.add("modification_date >= :modifiedFrom", "modifiedFrom", filter.getModifiedFrom().toOffsetDateTime());
+        }
+        if (filter.getModifiedTo() != null) {
+            conditions.add("modification_date < :modifiedTo", "modifiedTo", filter.getModifiedTo().toOffsetDateTime());
+        }
+        return conditions;
+    }
+
+    void add(String clause) {
+        clauses.add(clause);
+    }
+
+    void add(String clause, String name, Object value) {
+        clauses.add(clause);
+        bind(name, value);
+    }
+
+    void bind(String name, Object value) {
+        bindings.put(name, value);
+    }
+
+    DatabaseClient.GenericExecuteSpec bindTo(DatabaseClient.GenericExecuteSpec spec) {
+        for (var binding : bindings.entrySet()) {
+            spec = spec.bind(binding.getKey(), binding.getValue());
+        }
+        return spec;
+    }
+
+    String where() {
+        return clauses.isEmpty() ? "" : " WHERE " + String.join(" AND ", clauses);
+    }
+
+}
@@ -0,0 +1,42 @@
+package com.task.management.repository;
+
+import com.task.management.dto.TaskFilter;
+import com.task.management.model.TaskCount;
+import com.task.management.model.TaskCountGrouping;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface TaskCountRepository {
+
+    /**
+     * Reads the non-zero counts of the grouping from its summary view: the totals plus the count deltas that
+     * triggers append in the transaction of every write and that were not folded yet, so the cost depends on
+     * the number of groups and of pending deltas only.
+     */
+    Flux<TaskCount> countFromSummary(TaskCountGrouping grouping);
+
+    /**
+     * Adds the pending count deltas to the totals and deletes them, in one statement.
+     *
+     * @return the number of folded deltas
+     */
+    Mono<Long> foldCountDeltas();
+
+    /**
+     * Counts the tasks of the grouping by scanning the task table.
+     */
+    Flux<TaskCount> countExactly(TaskCountGrouping grouping);
+
+    /**
+     * Counts the tasks matching the filter with COUNT(*).
+     */
+    Mono<Long> countMatching(TaskFilter filter);
+
+    /**
+     * Estimates the number of tasks matching the filter without scanning the task table. Filters on status,
+     * owner or assignee alone are answered from the summary views, which are exact; any other filter is
+     * answered from the row estimate of the query planner, which is as accurate as the table statistics.
+     */
+    Mono<Long> estimateMatching(TaskFilter filter);
+
+}
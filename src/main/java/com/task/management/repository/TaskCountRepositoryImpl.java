@@ -0,0 +1,135 @@
+package com.task.management.repository;
+
+import com.task.management.dto.TaskFilter;
+import com.task.management.model.TaskCount;
+import com.task.management.model.TaskCountGrouping;
+import com.task.management.model.TaskStatus;
+import io.r2dbc.spi.Readable;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+@RequiredArgsConstructor
+public class TaskCountRepositoryImpl implements TaskCountRepository {
+
+    private static final Pattern PLANNED_ROWS = Pattern.compile(" rows=(\\d+)");
+
+    private final R2dbcEntityTemplate template;
+
+    @Override
+    public Flux<TaskCount> countFromSummary(TaskCountGrouping grouping) {
+        var columns = columns(grouping);
+        return query("SELECT " + columns + ", task_count FROM " + grouping.getSummaryView()
+                + " WHERE task_count > 0 ORDER BY " + columns, grouping);
+    }
+
+    @Override
+    public Flux<TaskCount> countExactly(TaskCountGrouping grouping) {
+        var columns = columns(grouping);
+        var where = grouping.getColumn() != null ? " WHERE " + grouping.getColumn() + " IS NOT NULL" : "";
+        return query("SELECT " + columns + ", COUNT(*) AS task_count FROM task" + where
+                + " GROUP BY " + columns + " ORDER BY " + columns, grouping);
+    }
+
+    @Override
+    public Mono<Long> countMatching(TaskFilter filter) {
+        var conditions = TaskConditions.of(filter);
+        var spec = template.getDatabaseClient().sql("SELECT COUNT(*) AS task_count FROM task" + conditions.where());
+        return conditions.bindTo(spec)
+                .map(row -> row.get("task_count", Long.class))
+                .one();
+    }
+
+    @Override
+    public Mono<Long> estimateMatching(TaskFilter filter) {
+        var summaryView = summaryView(filter);
+        if (summaryView == null) {
+            return planEstimate(filter);
+        }
+        var conditions = TaskConditions.of(filter);
+        var spec = template.getDatabaseClient().sql("SELECT COALESCE(SUM(task_count), 0)::BIGINT AS task_count FROM "
+                + summaryView + conditions.where());
+        return conditions.bindTo(spec)
+                .map(row -> row.get("task_count", Long.class))
+                .one();
+    }
+
+    @Override
+    public Mono<Long> foldCountDeltas() {
+        return template.getDatabaseClient().sql("""
+                        WITH folded AS (
+                            DELETE FROM task_count_delta RETURNING status, owner_id, assignee_id, delta
+                        ), by_status AS (
+                            INSERT INTO task_status_count AS c (status, task_count)
+                            SELECT status, SUM(delta) FROM folded GROUP BY status
+                            ON CONFLICT (status) DO UPDATE SET task_count = c.task_count + EXCLUDED.task_count
+                        ), by_owner AS (
+                            INSERT INTO task_owner_count AS c (owner_id, status, task_count)
+                            SELECT owner_id, status, SUM(delta) FROM folded WHERE owner_id IS NOT NULL GROUP BY owner_id, status
+                            ON CONFLICT (owner_id, status) DO UPDATE SET task_count = c.task_count + EXCLUDED.task_count
+                        ), by_assignee AS (
+                            INSERT INTO task_assignee_count AS c (assignee_id, status, task_count)
+                            SELECT assignee_id, status, SUM(delta) FROM folded WHERE assignee_id IS NOT NULL GROUP BY assignee_id, status
+                            ON CONFLICT (assignee_id, status) DO UPDATE SET task_count = c.task_count + EXCLUDED.task_count
+                        )
+                        SELECT COUNT(*) AS folded FROM folded
+                        """)
+                .map(row -> row.get("folded", Long.class))
+                .one();
+    }
+
+    private Mono<Long> planEstimate(TaskFilter filter) {
+        var conditions = TaskConditions.of(filter);
+        var spec = template.getDatabaseClient().sql("EXPLAIN SELECT 1 FROM task" + conditions.where());
+        return conditions.bindTo(spec)
+                .map(row -> row.get(0, String.class))
+                .first()
+                .map(plan -> {
+                    var rows = PLANNED_ROWS.matcher(plan);
+                    return rows.find() ? Long.parseLong(rows.group(1)) : 0L;
+                });
+    }
+
+    /**
+     * @return the summary view holding the count for the filter, or null if the filter has other predicates
+     */
+    private static String summaryView(TaskFilter filter) {
+        if (filter.getCreatedFrom() != null || filter.getCreatedTo() != null
+                || filter.getModifiedFrom() != null || filter.getModifiedTo() != null) {
+            return null;
+        }
+        if (filter.getOwnerId() != null) {
+            return filter.getAssigneeId() == null ? TaskCountGrouping.OWNER.getSummaryView() : null;
+        }
+        if (filter.getAssigneeId() != null) {
+            return TaskCountGrouping.ASSIGNEE.getSummaryView();
+        }
+        return TaskCountGrouping.STATUS.getSummaryView();
+    }
+
+    private Flux<TaskCount> query(String sql, TaskCountGrouping grouping) {
+        return template.getDatabaseClient().sql(sql)
+                .map(row -> toTaskCount(row, grouping))
+                .all();
+    }
+
+    private static String columns(TaskCountGrouping grouping) {
+        return grouping.getColumn() != null ? grouping.getColumn() + ", status" : "status";
+    }
+
+    private static TaskCount toTaskCount(Readable row, TaskCountGrouping grouping) {
+        var taskCount = TaskCount.builder()
+                .status(TaskStatus.fromCode(row.get("status", Short.class)))
+                .count(row.get("task_count", Long.class));
+        return switch (grouping) {
+            case STATUS -> taskCount.build();
+            case OWNER -> taskCount.ownerId(row.get("owner_id", UUID.class)).build();
+            case ASSIGNEE -> taskCount.assigneeId(row.get("assignee_id", UUID.class)).build();
+        };
+    }
+
+}
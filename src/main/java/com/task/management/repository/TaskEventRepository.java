@@ -0,0 +1,36 @@
+package com.task.management.repository;
+
+import com.task.management.model.TaskEvent;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.ZonedDateTime;
+import java.util.UUID;
+
+/**
+ * Access to the task history, which a trigger appends to in the transaction of every task change. The history is
+ * partitioned by month so that old months are removed by dropping their partition.
+ */
+public interface TaskEventRepository {
+
+    /**
+     * Emits the history of the task oldest first. When {@code afterTime} is given, only the events ordered after
+     * {@code (afterTime, afterId)} are emitted.
+     */
+    Flux<TaskEvent> findEvents(UUID taskId, ZonedDateTime afterTime, Long afterId, int limit);
+
+    /**
+     * Creates the partitions of the current month and of the given number of following months if missing.
+     */
+    Mono<Void> createEventPartitions(int monthsAhead);
+
+    /**
+     * Drops the partitions of the months that ended more than {@code monthsKept} months ago. Each partition is
+     * detached concurrently first, so that reads and writes of the history do not wait for the drop; this must
+     * not run inside a transaction.
+     *
+     * @return the number of dropped partitions
+     */
+    Mono<Integer> dropEventPartitions(int monthsKept);
+
+}
@@ -0,0 +1,97 @@
+package com.task.management.repository;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.task.management.model.TaskChangeType;
+import com.task.management.model.TaskEvent;
+import io.r2dbc.spi.Readable;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.OffsetDateTime;
+import java.time.ZonedDateTime;
+import java.util.Map;
+import java.util.UUID;
+
+@RequiredArgsConstructor
+public class TaskEventRepositoryImpl implements TaskEventRepository {
+
+    private static final TypeReference<Map<String, Object>> CHANGES = new TypeReference<>() {
+    };
+
+    private final R2dbcEntityTemplate template;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public Flux<TaskEvent> findEvents(UUID taskId, ZonedDateTime afterTime, Long afterId, int limit) {
+        var after = afterTime != null ? " AND (event_time, id) > (:afterTime, :afterId)" : "";
+        var spec = template.getDatabaseClient().sql("SELECT id, task_id, event_time, operation, version, changes::TEXT AS changes"
+                        + " FROM task_event WHERE task_id = :taskId" + after
+                        + " ORDER BY event_time, id LIMIT :limit")
+                .bind("taskId", taskId)
+                .bind("limit", limit);
+        if (afterTime != null) {
+            spec = spec.bind("afterTime", afterTime.toOffsetDateTime())
+                    .bind("afterId", afterId);
+        }
+        return spec.map(this::toTaskEvent)
+                .all();
+    }
+
+    @Override
+    public Mono<Void> createEventPartitions(int monthsAhead) {
+        return template.getDatabaseClient().sql("SELECT create_task_event_partition("
+                        + "(date_trunc('month', now()) + make_interval(months => ahead))::DATE)"
+                        + " FROM generate_series(0, :monthsAhead) ahead")
+                .bind("monthsAhead", monthsAhead)
+                .then();
+    }
+
+    @Override
+    public Mono<Integer> dropEventPartitions(int monthsKept) {
+        var databaseClient = template.getDatabaseClient();
+        return databaseClient.sql("SELECT partition_name, detach_pending FROM expired_task_event_partitions("
+                        + "(date_trunc('month', now()) - make_interval(months => :monthsKept))::DATE)")
+                .bind("monthsKept", monthsKept)
+                .map(row -> Map.entry(row.get("partition_name", String.class), row.get("detach_pending", Boolean.class)))
+                .all()
+                .concatMap(partition -> {
+                    // names are matched against task_event_YYYY_MM by the function, so they are safe to inline
+                    var partitionName = "\"" + partition.getKey() + "\"";
+                    // outside of a transaction each statement commits on its own, as CONCURRENTLY requires
+                    var detach = Boolean.TRUE.equals(partition.getValue())
+                            ? "ALTER TABLE task_event DETACH PARTITION " + partitionName + " FINALIZE"
+                            : "ALTER TABLE task_event DETACH PARTITION " + partitionName + " CONCURRENTLY";
+                    return databaseClient.sql(detach).then()
+                            .then(databaseClient.sql("DROP TABLE " + partitionName).then())
+                            .thenReturn(1);
+                })
+                .reduce(0, Integer::sum);
+    }
+
+    private TaskEvent toTaskEvent(Readable row) {
+        return TaskEvent.builder()
+                .id(row.get("id", Long.class))
+                .taskId(row.get("task_id", UUID.class))
+                .time(ZonedDateTime.from(row.get("event_time", OffsetDateTime.class)))
+                .type(TaskChangeType.fromOperation(row.get("operation", String.class)))
+                .version(row.get("version", Long.class))
+                .changes(readChanges(row.get("changes", String.class)))
+                .build();
+    }
+
+    private Map<String, Object> readChanges(String changes) {
+        if (changes == null) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(changes, CHANGES);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Malformed task event changes: " + changes, e);
+        }
+    }
+
+}
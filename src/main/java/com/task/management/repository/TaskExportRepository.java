@@ -0,0 +1,83 @@
+package com.task.management.repository;
+
+import com.task.management.config.TaskManagementProperties;
+import com.task.management.dto.TaskFilter;
+import com.task.management.dto.TaskProjection;
+import com.task.management.model.Task;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.Option;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.actuate.metrics.r2dbc.ConnectionPoolMetrics;
+import org.springframework.boot.autoconfigure.r2dbc.ConnectionFactoryOptionsBuilderCustomizer;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcProperties;
+import org.springframework.boot.r2dbc.ConnectionFactoryBuilder;
+import org.springframework.data.r2dbc.convert.R2dbcConverter;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+/**
+ * Reads tasks for exports through a small connection pool of its own, so that long running exports
+ * never take connections away from regular requests. Each export is a single query whose rows are
+ * fetched from the server-side portal {@code fetch-size} rows at a time, as fast as the client reads them.
+ */
+@Repository
+public class TaskExportRepository implements DisposableBean {
+
+    private static final String POOL_NAME = "task-export";
+
+    private final ConnectionPool connectionPool;
+    private final DatabaseClient databaseClient;
+    private final R2dbcConverter converter;
+    private final int fetchSize;
+
+    public TaskExportRepository(R2dbcProperties r2dbcProperties,
+                                ObjectProvider<ConnectionFactoryOptionsBuilderCustomizer> customizers,
+                                R2dbcConverter converter,
+                                TaskManagementProperties properties,
+                                MeterRegistry meterRegistry) {
+        var export = properties.getExport();
+        // same options as the main pool: spring.r2dbc.properties (SSL mode, timeouts...) and the customizers
+        var connectionFactory = ConnectionFactoryBuilder.withUrl(r2dbcProperties.getUrl())
+                .username(r2dbcProperties.getUsername())
+                .password(r2dbcProperties.getPassword())
+                .configure(options -> {
+                    r2dbcProperties.getProperties().forEach((key, value) -> options.option(Option.valueOf(key), value));
+                    customizers.orderedStream().forEach(customizer -> customizer.customize(options));
+                })
+                .build();
+        this.connectionPool = new ConnectionPool(ConnectionPoolConfiguration.builder(connectionFactory)
+                .name(POOL_NAME)
+                .initialSize(0)
+                .maxSize(export.getPoolSize())
+                .maxAcquireTime(export.getMaxAcquireTime())
+                .build());
+        new ConnectionPoolMetrics(connectionPool, POOL_NAME, Tags.empty()).bindTo(meterRegistry);
+        this.databaseClient = DatabaseClient.create(connectionPool);
+        this.converter = converter;
+        this.fetchSize = export.getFetchSize();
+    }
+
+    /**
+     * Emits every task matching the filter in creation order; the columns left out of the projection are
+     * read back as null.
+     */
+    public Flux<Task> exportAll(TaskFilter filter, TaskProjection projection) {
+        var conditions = TaskConditions.of(filter);
+        var spec = databaseClient.sql("SELECT " + TaskColumns.of(projection) + " FROM task" + conditions.where() + " ORDER BY creation_date, id")
+                .filter(statement -> statement.fetchSize(fetchSize));
+        return conditions.bindTo(spec)
+                .map((row, metadata) -> converter.read(Task.class, row, metadata))
+                .all();
+    }
+
+    @Override
+    public void destroy() {
+        connectionPool.dispose();
+    }
+
+}
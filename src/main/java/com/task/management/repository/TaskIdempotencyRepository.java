@@ -0,0 +1,71 @@
+package com.task.management.repository;
+
+import com.task.management.model.TaskIdempotencyRecord;
+import lombok.RequiredArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+/**
+ * Stores the responses of requests made with an idempotency key. A key is claimed by inserting its row in the
+ * transaction that runs the request, so a concurrent request with the same key blocks on the unique index until
+ * that transaction ends, and then either finds the stored response or, after a rollback, claims the key itself.
+ */
+@Repository
+@RequiredArgsConstructor
+public class TaskIdempotencyRepository {
+
+    private static final String EXPIRED = "created_at < now() - make_interval(secs => :ttl)";
+
+    private final DatabaseClient databaseClient;
+
+    /**
+     * @return whether the key was free or expired and now belongs to the current transaction
+     */
+    public Mono<Boolean> claim(String key, String operation, Duration ttl) {
+        return databaseClient.sql("INSERT INTO task_idempotency_key (idempotency_key, operation) VALUES (:key, :operation)"
+                        + " ON CONFLICT (idempotency_key) DO UPDATE"
+                        + " SET operation = EXCLUDED.operation, request_hash = NULL, response = NULL, created_at = now()"
+                        + " WHERE task_idempotency_key." + EXPIRED
+                        + " RETURNING idempotency_key")
+                .bind("key", key)
+                .bind("operation", operation)
+                .bind("ttl", seconds(ttl))
+                .fetch()
+                .first()
+                .hasElement();
+    }
+
+    public Mono<TaskIdempotencyRecord> find(String key) {
+        return databaseClient.sql("SELECT operation, request_hash, response FROM task_idempotency_key WHERE idempotency_key = :key")
+                .bind("key", key)
+                .map(row -> TaskIdempotencyRecord.builder()
+                        .operation(row.get("operation", String.class))
+                        .requestHash(row.get("request_hash", String.class))
+                        .response(row.get("response", String.class))
+                        .build())
+                .one();
+    }
+
+    public Mono<Void> complete(String key, String requestHash, String response) {
+        return databaseClient.sql("UPDATE task_idempotency_key SET request_hash = :requestHash, response = :response WHERE idempotency_key = :key")
+                .bind("key", key)
+                .bind("requestHash", requestHash)
+                .bind("response", response)
+                .then();
+    }
+
+    public Mono<Long> deleteExpired(Duration ttl) {
+        return databaseClient.sql("DELETE FROM task_idempotency_key WHERE " + EXPIRED)
+                .bind("ttl", seconds(ttl))
+                .fetch()
+                .rowsUpdated();
+    }
+
+    private static double seconds(Duration duration) {
+        return duration.toMillis() / 1000.0;
+    }
+
+}
@@ -0,0 +1,50 @@
+package com.task.management.repository;
+
+import com.task.management.model.TaskChangeType;
+import com.task.management.model.TaskOutboxEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.OffsetDateTime;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Reads and prunes the task outbox, which a trigger fills in the transaction of every task change.
+ */
+@Repository
+@RequiredArgsConstructor
+public class TaskOutboxRepository {
+
+    private final DatabaseClient databaseClient;
+
+    /**
+     * Emits the oldest events and locks them until the end of the current transaction. Events already locked by
+     * another relay are skipped, so relays of several instances share the outbox without waiting on each other.
+     */
+    public Flux<TaskOutboxEvent> lockOldest(int limit) {
+        return databaseClient.sql("SELECT id, operation, task_id, payload::TEXT AS payload, created_at FROM task_outbox"
+                        + " ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED")
+                .bind("limit", limit)
+                .map(row -> TaskOutboxEvent.builder()
+                        .id(row.get("id", Long.class))
+                        .type(TaskChangeType.fromOperation(row.get("operation", String.class)))
+                        .taskId(row.get("task_id", UUID.class))
+                        .createdAt(ZonedDateTime.from(row.get("created_at", OffsetDateTime.class)))
+                        .task(row.get("payload", String.class))
+                        .build())
+                .all();
+    }
+
+    public Mono<Long> deleteAll(List<Long> ids) {
+        return databaseClient.sql("DELETE FROM task_outbox WHERE id = ANY(:ids)")
+                .bind("ids", ids.toArray(Long[]::new))
+                .fetch()
+                .rowsUpdated();
+    }
+
+}
@@ -0,0 +1,32 @@
+package com.task.management.repository;
+
+import com.task.management.dto.TaskFilter;
+import com.task.management.dto.TaskProjection;
+import com.task.management.model.Task;
+import com.task.management.model.TaskSearchHit;
+import reactor.core.publisher.Flux;
+
+import java.time.ZonedDateTime;
+import java.util.UUID;
+
+public interface TaskQueryRepository {
+
+    /**
+     * Emits a page of the tasks matching the filter, reading only the columns of the projection.
+     */
+    Flux<Task> findAllPaged(TaskFilter filter, TaskProjection projection, int limit, int offset);
+
+    Flux<Task> findAllAfter(TaskFilter filter, TaskProjection projection, ZonedDateTime creationDate, UUID id, int limit);
+
+    /**
+     * Emits the tasks matching the web search style {@code query} and the filter, best ranked first. When
+     * {@code afterRank} is given, only the results ordered after {@code (afterRank, afterId)} are emitted.
+     */
+    Flux<TaskSearchHit> search(String query, TaskFilter filter, Float afterRank, UUID afterId, int limit);
+
+    /**
+     * Deletes every task matching the filter that is in TODO or CANCELLED and emits the removed ids.
+     */
+    Flux<UUID> deleteAllMatching(TaskFilter filter);
+
+}
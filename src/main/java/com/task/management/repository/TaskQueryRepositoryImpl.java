@@ -0,0 +1,82 @@
+package com.task.management.repository;
+
+import com.task.management.dto.TaskFilter;
+import com.task.management.dto.TaskProjection;
+import com.task.management.model.Task;
+import com.task.management.model.TaskSearchHit;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import reactor.core.publisher.Flux;
+
+import java.time.ZonedDateTime;
+import java.util.UUID;
+
+/**
+ * Builds listing queries that only contain the predicates of the given filter, so that Postgres
+ * can pick the matching composite index instead of evaluating "IS NULL OR" branches per row.
+ */
+@RequiredArgsConstructor
+public class TaskQueryRepositoryImpl implements TaskQueryRepository {
+
+    private static final String ORDER_BY = " ORDER BY creation_date, id";
+
+    private final R2dbcEntityTemplate template;
+
+    @Override
+    public Flux<Task> findAllPaged(TaskFilter filter, TaskProjection projection, int limit, int offset) {
+        var conditions = TaskConditions.of(filter);
+        conditions.bind("limit", limit);
+        conditions.bind("offset", offset);
+        return select(conditions, projection, ORDER_BY + " LIMIT :limit OFFSET :offset");
+    }
+
+    @Override
+    public Flux<Task> findAllAfter(TaskFilter filter, TaskProjection projection, ZonedDateTime creationDate, UUID id, int limit) {
+        var conditions = TaskConditions.of(filter);
+        conditions.add("(creation_date, id) > (:afterCreationDate, :afterId)");
+        conditions.bind("afterCreationDate", creationDate.toOffsetDateTime());
+        conditions.bind("afterId", id);
+        conditions.bind("limit", limit);
+        return select(conditions, projection, ORDER_BY + " LIMIT :limit");
+    }
+
+    @Override
+    public Flux<TaskSearchHit> search(String query, TaskFilter filter, Float afterRank, UUID afterId, int limit) {
+        var conditions = TaskConditions.of(filter);
+        conditions.add("search_vector @@ query");
+        if (afterRank != null) {
+            conditions.add("(ts_rank(search_vector, query), id) < (:afterRank, :afterId)");
+            conditions.bind("afterRank", afterRank);
+            conditions.bind("afterId", afterId);
+        }
+        conditions.bind("query", query);
+        conditions.bind("limit", limit);
+        var spec = template.getDatabaseClient().sql("SELECT " + TaskColumns.ALL + ", ts_rank(search_vector, query) AS rank"
+                + " FROM task, websearch_to_tsquery('english', :query) query"
+                + conditions.where()
+                + " ORDER BY rank DESC, id DESC LIMIT :limit");
+        return conditions.bindTo(spec)
+                .map((row, metadata) -> new TaskSearchHit(
+                        template.getConverter().read(Task.class, row, metadata),
+                        row.get("rank", Float.class)))
+                .all();
+    }
+
+    @Override
+    public Flux<UUID> deleteAllMatching(TaskFilter filter) {
+        var conditions = TaskConditions.of(filter);
+        conditions.add("status IN (" + TaskColumns.REMOVABLE_STATUSES + ")");
+        var spec = template.getDatabaseClient().sql("DELETE FROM task" + conditions.where() + " RETURNING id");
+        return conditions.bindTo(spec)
+                .map(row -> row.get("id", UUID.class))
+                .all();
+    }
+
+    private Flux<Task> select(TaskConditions conditions, TaskProjection projection, String suffix) {
+        var spec = template.getDatabaseClient().sql("SELECT " + TaskColumns.of(projection) + " FROM task" + conditions.where() + suffix);
+        return conditions.bindTo(spec)
+                .map((row, metadata) -> template.getConverter().read(Task.class, row, metadata))
+                .all();
+    }
+
+}
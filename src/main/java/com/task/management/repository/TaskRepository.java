@@ -5,14 +5,49 @@ import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.data.repository.reactive.ReactiveCrudRepository;
 import org.springframework.stereotype.Repository;
-import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 import java.util.UUID;
 
 @Repository
-public interface TaskRepository extends ReactiveCrudRepository<Task, UUID> {
+public interface TaskRepository extends ReactiveCrudRepository<Task, UUID>, TaskQueryRepository, TaskBatchRepository, TaskCountRepository,
+        TaskEventRepository {
 
-    @Query("SELECT * FROM task LIMIT :limit OFFSET :offset")
-    Flux<Task> findAllPaged(@Param("limit") int limit, @Param("offset") int offset);
+    @Override
+    @Query("SELECT " + TaskColumns.ALL + " FROM task WHERE id = :id")
+    Mono<Task> findById(@Param("id") UUID id);
+
+    /**
+     * Applies the non-null arguments to the task in one statement and increments its version. Tasks whose
+     * version differs from a non-null expected version, and tasks that would end up in IN_PROGRESS,
+     * UNDER_REVIEW, APPROVED or DONE without an assignee, are left untouched, in which case
+     * nothing is emitted.
+     */
+    @Query("""
+            UPDATE task SET
+                title = COALESCE(:title, title),
+                description = COALESCE(:description, description),
+                assignee_id = COALESCE(:assigneeId, assignee_id),
+                status = COALESCE(:status, status),
+                modification_date = now(),
+                version = version + 1
+            WHERE id = :id
+              AND (CAST(:expectedVersion AS BIGINT) IS NULL OR version = :expectedVersion)
+              AND NOT (COALESCE(:assigneeId, assignee_id) IS NULL AND COALESCE(:status, status) IN (""" + TaskColumns.ASSIGNED_STATUSES + """
+            ))
+            RETURNING
+            """ + TaskColumns.ALL)
+    Mono<Task> updateIfValid(@Param("id") UUID id,
+                             @Param("title") String title,
+                             @Param("description") String description,
+                             @Param("assigneeId") UUID assigneeId,
+                             @Param("status") Short status,
+                             @Param("expectedVersion") Long expectedVersion);
+
+    /**
+     * Deletes the task only while it is in TODO or CANCELLED and emits its id when it was removed.
+     */
+    @Query("DELETE FROM task WHERE id = :id AND status IN (" + TaskColumns.REMOVABLE_STATUSES + ") RETURNING id")
+    Mono<UUID> deleteIfRemovable(@Param("id") UUID id);
 
 }
@@ -0,0 +1,32 @@
+package com.task.management.service;
+
+import com.task.management.model.TaskOutboxEvent;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Keeps the published events in memory, meant for tests.
+ */
+@Component
+@ConditionalOnProperty(prefix = "task-management.outbox", name = "sink", havingValue = "memory")
+public class InMemoryTaskOutboxSink implements TaskOutboxSink {
+
+    private final List<TaskOutboxEvent> events = new CopyOnWriteArrayList<>();
+
+    @Override
+    public Mono<Void> publish(List<TaskOutboxEvent> events) {
+        return Mono.fromRunnable(() -> this.events.addAll(events));
+    }
+
+    /**
+     * @return the events published so far, oldest first
+     */
+    public List<TaskOutboxEvent> getEvents() {
+        return List.copyOf(events);
+    }
+
+}
@@ -0,0 +1,39 @@
+package com.task.management.service;
+
+import com.task.management.exception.IllegalTaskManagementOperationException;
+import lombok.experimental.UtilityClass;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.function.BiFunction;
+
+/**
+ * Opaque, URL safe encoding of a keyset position made of a sort value and the id breaking its ties.
+ */
+@UtilityClass
+class KeysetCursor {
+
+    private final String SEPARATOR = "|";
+
+    String encode(Object sortValue, Object id) {
+        var raw = sortValue + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Splits the cursor back into the sort value and the id and parses them.
+     *
+     * @throws IllegalTaskManagementOperationException if the cursor was not encoded by {@link #encode} or
+     *                                                 its values cannot be parsed
+     */
+    <T> T decode(String cursor, BiFunction<String, String, T> parser) {
+        try {
+            var raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            var separatorIndex = raw.indexOf(SEPARATOR);
+            return parser.apply(raw.substring(0, separatorIndex), raw.substring(separatorIndex + 1));
+        } catch (RuntimeException e) {
+            throw new IllegalTaskManagementOperationException("Invalid cursor:{%s}".formatted(cursor));
+        }
+    }
+
+}
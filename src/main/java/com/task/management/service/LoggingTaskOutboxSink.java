@@ -0,0 +1,38 @@
+package com.task.management.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.task.management.model.TaskOutboxEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Writes every event as one JSON line to the {@code task.outbox} logger, which can be routed to its own file.
+ */
+@Component
+@ConditionalOnProperty(prefix = "task-management.outbox", name = "sink", havingValue = "log", matchIfMissing = true)
+@RequiredArgsConstructor
+@Slf4j(topic = "task.outbox")
+public class LoggingTaskOutboxSink implements TaskOutboxSink {
+
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public Mono<Void> publish(List<TaskOutboxEvent> events) {
+        return Mono.fromRunnable(() -> {
+            for (var event : events) {
+                try {
+                    log.info("{}", objectMapper.writeValueAsString(event));
+                } catch (JsonProcessingException e) {
+                    throw new IllegalStateException("Could not serialize outbox event " + event.getId(), e);
+                }
+            }
+        });
+    }
+
+}
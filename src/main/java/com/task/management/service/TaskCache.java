@@ -0,0 +1,49 @@
+package com.task.management.service;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.task.management.config.TaskManagementProperties;
+import com.task.management.model.Task;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Bounded in-memory read-through cache of tasks by id. Concurrent misses for the same id share a
+ * single load, and hit, miss and eviction counts are published as {@code cache.*} metrics named "tasks".
+ */
+@Component
+public class TaskCache {
+
+    private final AsyncCache<UUID, Task> cache;
+
+    public TaskCache(TaskManagementProperties properties, MeterRegistry meterRegistry) {
+        var cacheProperties = properties.getCache();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(cacheProperties.getMaximumSize())
+                .expireAfterWrite(cacheProperties.getTimeToLive())
+                .recordStats()
+                .buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "tasks");
+    }
+
+    /**
+     * @return the cached task, or the result of the loader which is cached unless it is empty
+     */
+    public Mono<Task> get(UUID taskId, Function<UUID, Mono<Task>> loader) {
+        return Mono.fromFuture(() -> cache.get(taskId, (id, executor) -> loader.apply(id).toFuture()), true);
+    }
+
+    public void invalidate(UUID taskId) {
+        cache.synchronous().invalidate(taskId);
+    }
+
+    public void invalidateAll() {
+        cache.synchronous().invalidateAll();
+    }
+
+}
@@ -0,0 +1,163 @@
+package com.task.management.service;
+
+import com.task.management.config.TaskManagementProperties;
+import com.task.management.model.TaskChange;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+/**
+ * Fans task changes out to stream subscribers. Every subscriber gets its own buffer of at most
+ * {@code subscriber-buffer-size} undelivered changes, so a slow client never holds back the others, and the most
+ * recent changes are kept to resume a stream. When changes are dropped for a slow subscriber, or a stream resumes
+ * from a change that is not retained, a {@link TaskChange#gap gap} marker is delivered before its next change.
+ */
+@Component
+@Slf4j
+public class TaskChangeHub {
+
+    private final TaskManagementProperties.Events properties;
+    private final Deque<TaskChange> recentChanges = new ArrayDeque<>();
+    private final List<ChangeSubscriber> subscribers = new CopyOnWriteArrayList<>();
+
+    public TaskChangeHub(TaskManagementProperties properties) {
+        this.properties = properties.getEvents();
+    }
+
+    public synchronized void publish(TaskChange change) {
+        recentChanges.addLast(change);
+        if (recentChanges.size() > properties.getReplaySize()) {
+            recentChanges.removeFirst();
+        }
+        for (var subscriber : subscribers) {
+            if (!subscriber.offer(change)) {
+                subscribers.remove(subscriber);
+            }
+        }
+    }
+
+    /**
+     * Streams the changes matching the filter. When {@code lastSequence} is given, the retained changes
+     * published after it are replayed first; if it is not retained, because it is too old or was published
+     * by another instance, a gap marker for it is sent and every retained change is replayed.
+     */
+    public Flux<TaskChange> changes(Predicate<TaskChange> filter, Long lastSequence) {
+        return Flux.defer(() -> {
+            ChangeSubscriber subscriber;
+            synchronized (this) {
+                subscriber = new ChangeSubscriber(filter);
+                if (lastSequence != null) {
+                    subscriber.replay(lastSequence);
+                }
+                subscribers.add(subscriber);
+            }
+            return subscriber.sink.asFlux()
+                    .doOnNext(subscriber::delivered)
+                    .doFinally(signal -> subscribers.remove(subscriber));
+        });
+    }
+
+    private final class ChangeSubscriber {
+
+        private final Sinks.Many<TaskChange> sink = Sinks.many().unicast().onBackpressureBuffer();
+        private final Predicate<TaskChange> filter;
+        /**
+         * Live changes emitted but not delivered yet, bounded by the buffer size.
+         */
+        private final AtomicInteger buffered = new AtomicInteger();
+        /**
+         * Replayed changes not delivered yet. They are emitted first and do not count against the buffer.
+         */
+        private final AtomicInteger replayed = new AtomicInteger();
+        private TaskChange pendingGap;
+        private volatile boolean gapUnread;
+
+        private ChangeSubscriber(Predicate<TaskChange> filter) {
+            this.filter = filter;
+        }
+
+        /**
+         * Emits the retained changes published after {@code lastSequence}, preceded by a gap marker when it is
+         * not retained.
+         */
+        void replay(long lastSequence) {
+            var missedChanges = new ArrayList<TaskChange>();
+            var found = false;
+            for (var change : recentChanges) {
+                if (change.getSequence() == lastSequence) {
+                    missedChanges.clear();
+                    found = true;
+                } else if (filter.test(change)) {
+                    missedChanges.add(change);
+                }
+            }
+            if (!found) {
+                gapUnread = true;
+                missedChanges.add(0, TaskChange.gap(lastSequence));
+            }
+            replayed.set(missedChanges.size());
+            missedChanges.forEach(sink::tryEmitNext);
+        }
+
+        void delivered(TaskChange change) {
+            if (change.isGap()) {
+                gapUnread = false;
+            }
+            if (replayed.get() > 0) {
+                replayed.decrementAndGet();
+            } else {
+                buffered.decrementAndGet();
+            }
+        }
+
+        /**
+         * @return false once the subscriber is gone and must no longer be offered changes
+         */
+        boolean offer(TaskChange change) {
+            if (!filter.test(change)) {
+                return true;
+            }
+            if (pendingGap != null) {
+                if (!reserve()) {
+                    log.debug("Dropping change {} for slow subscriber", change.getSequence());
+                    return true;
+                }
+                // set before emitting, the subscriber may read the marker right away
+                gapUnread = true;
+                if (sink.tryEmitNext(pendingGap).isFailure()) {
+                    return false;
+                }
+                pendingGap = null;
+            }
+            if (!reserve()) {
+                if (properties.getSlowSubscriberPolicy() == TaskManagementProperties.SlowSubscriberPolicy.DISCONNECT) {
+                    log.debug("Disconnecting slow subscriber at change {}", change.getSequence());
+                    sink.tryEmitComplete();
+                    return false;
+                }
+                log.debug("Dropping change {} for slow subscriber", change.getSequence());
+                // a marker still unread in the buffer covers this change, since the subscriber reloads after reading it
+                if (!gapUnread) {
+                    pendingGap = TaskChange.gap(change.getSequence());
+                }
+                return true;
+            }
+            return !sink.tryEmitNext(change).isFailure();
+        }
+
+        private boolean reserve() {
+            var capacity = properties.getSubscriberBufferSize();
+            return buffered.getAndUpdate(count -> count < capacity ? count + 1 : count) < capacity;
+        }
+    }
+
+}
@@ -0,0 +1,124 @@
+package com.task.management.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.task.management.model.TaskChange;
+import com.task.management.model.TaskChangeType;
+import com.task.management.model.TaskStatus;
+import io.r2dbc.postgresql.api.PostgresqlConnection;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.Result;
+import io.r2dbc.spi.Wrapped;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Keeps the local {@link TaskCache} coherent with writes made by other instances and feeds the
+ * {@link TaskChangeHub}. A database trigger publishes every committed change of a task on the
+ * {@value #CHANNEL} channel, and this listener holds one connection that LISTENs on it for the
+ * lifetime of the application.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TaskChangeListener implements SmartLifecycle {
+
+    public static final String CHANNEL = "task_changed";
+
+    private final ConnectionFactory connectionFactory;
+    private final TaskCache taskCache;
+    private final TaskChangeHub taskChangeHub;
+    private final ObjectMapper objectMapper;
+
+    private volatile Disposable subscription;
+
+    @Override
+    public void start() {
+        subscription = listen()
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, Duration.ofSeconds(1))
+                        .maxBackoff(Duration.ofSeconds(30))
+                        .doBeforeRetry(signal -> log.warn("Lost subscription to {}, reconnecting", CHANNEL, signal.failure())))
+                .subscribe(this::onChange,
+                        e -> log.error("Stopped listening on {}", CHANNEL, e));
+    }
+
+    @Override
+    public void stop() {
+        if (subscription != null) {
+            subscription.dispose();
+            subscription = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return subscription != null && !subscription.isDisposed();
+    }
+
+    private void onChange(TaskChange change) {
+        if (change.getType() != TaskChangeType.CREATED) {
+            taskCache.invalidate(change.getTaskId());
+        }
+        taskChangeHub.publish(change);
+    }
+
+    private Flux<TaskChange> listen() {
+        return Flux.usingWhen(connectionFactory.create(),
+                connection -> {
+                    var changes = unwrap(connection).getNotifications()
+                            .map(notification -> parse(notification.getParameter()));
+                    var subscribe = Flux.from(connection.createStatement("LISTEN " + CHANNEL).execute())
+                            .flatMap(Result::getRowsUpdated)
+                            .then(Mono.fromRunnable(() -> {
+                                // notifications sent while we were not listening are lost
+                                taskCache.invalidateAll();
+                                log.info("Listening on {}", CHANNEL);
+                            }));
+                    return Flux.merge(changes, subscribe.thenMany(Flux.<TaskChange>empty()));
+                },
+                Connection::close);
+    }
+
+    private TaskChange parse(String payload) {
+        try {
+            var json = objectMapper.readTree(payload);
+            return TaskChange.builder()
+                    .sequence(json.get("sequence").asLong())
+                    .type(TaskChangeType.fromOperation(json.get("operation").asText()))
+                    .taskId(UUID.fromString(json.get("id").asText()))
+                    .ownerId(uuidOrNull(json.get("ownerId")))
+                    .assigneeId(uuidOrNull(json.get("assigneeId")))
+                    .status(json.get("status").isNull() ? null : TaskStatus.fromCode(json.get("status").shortValue()))
+                    .build();
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Malformed %s payload: %s".formatted(CHANNEL, payload), e);
+        }
+    }
+
+    private static UUID uuidOrNull(JsonNode node) {
+        return node == null || node.isNull() ? null : UUID.fromString(node.asText());
+    }
+
+    private static PostgresqlConnection unwrap(Connection connection) {
+        Object candidate = connection;
+        while (!(candidate instanceof PostgresqlConnection) && candidate instanceof Wrapped<?> wrapped) {
+            candidate = wrapped.unwrap();
+        }
+        if (candidate instanceof PostgresqlConnection postgresqlConnection) {
+            return postgresqlConnection;
+        }
+        throw new IllegalStateException("Listening on %s requires a Postgres connection".formatted(CHANNEL));
+    }
+
+}
@@ -0,0 +1,55 @@
+package com.task.management.service;
+
+import com.task.management.config.TaskManagementProperties;
+import com.task.management.repository.TaskRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+/**
+ * Folds the count deltas that task writes append into the count totals every {@code fold-interval}. Counts read
+ * through the summary views are exact whether or not the deltas are folded yet, folding only keeps those reads
+ * from summing an ever-growing number of deltas.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TaskCountFolder implements SmartLifecycle {
+
+    private final TaskRepository taskRepository;
+    private final TaskManagementProperties properties;
+
+    private volatile Disposable folding;
+
+    @Override
+    public void start() {
+        folding = Flux.interval(Duration.ZERO, properties.getStats().getFoldInterval())
+                .onBackpressureDrop()
+                .concatMap(tick -> taskRepository.foldCountDeltas()
+                        .onErrorResume(e -> {
+                            log.warn("Could not fold task count deltas", e);
+                            return Mono.empty();
+                        }), 1)
+                .subscribe(folded -> log.debug("Folded {} task count deltas", folded));
+    }
+
+    @Override
+    public void stop() {
+        if (folding != null) {
+            folding.dispose();
+            folding = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return folding != null && !folding.isDisposed();
+    }
+
+}
@@ -0,0 +1,28 @@
+package com.task.management.service;
+
+import lombok.Value;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.UUID;
+
+/**
+ * Opaque keyset position over the {@code (creation_date, id)} sort key of the task table.
+ */
+@Value
+public class TaskCursor {
+
+    ZonedDateTime creationDate;
+    UUID id;
+
+    public String encode() {
+        return KeysetCursor.encode(creationDate.toInstant(), id);
+    }
+
+    public static TaskCursor decode(String cursor) {
+        return KeysetCursor.decode(cursor, (creationDate, id) -> new TaskCursor(
+                ZonedDateTime.ofInstant(Instant.parse(creationDate), ZoneOffset.UTC), UUID.fromString(id)));
+    }
+
+}
@@ -0,0 +1,27 @@
+package com.task.management.service;
+
+import lombok.Value;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+
+/**
+ * Opaque keyset position over the {@code (event_time, id)} order of the history of a task.
+ */
+@Value
+public class TaskEventCursor {
+
+    ZonedDateTime time;
+    long id;
+
+    public String encode() {
+        return KeysetCursor.encode(time.toInstant(), id);
+    }
+
+    public static TaskEventCursor decode(String cursor) {
+        return KeysetCursor.decode(cursor, (time, id) -> new TaskEventCursor(
+                ZonedDateTime.ofInstant(Instant.parse(time), ZoneOffset.UTC), Long.parseLong(id)));
+    }
+
+}
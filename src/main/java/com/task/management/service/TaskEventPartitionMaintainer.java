@@ -0,0 +1,86 @@
+package com.task.management.service;
+
+import com.task.management.config.TaskManagementProperties;
+import com.task.management.repository.TaskRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+/**
+ * Keeps the monthly partitions of the task history ahead of time: on start and every {@code maintenance-interval}
+ * it creates the partitions of the current month and of the next {@code partitions-ahead} months, and drops the
+ * partitions older than {@code retention-months} when a retention is configured. The history has no default
+ * partition, so a task write in a month without partition fails: the first run completes before the web server
+ * starts, and the next month is always created at least one interval before it begins.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TaskEventPartitionMaintainer implements SmartLifecycle {
+
+    private final TaskRepository taskRepository;
+    private final TaskManagementProperties properties;
+
+    private volatile Disposable maintaining;
+
+    @Override
+    public void start() {
+        var interval = properties.getHistory().getMaintenanceInterval();
+        maintainLogged().block();
+        maintaining = Flux.interval(interval, interval)
+                .onBackpressureDrop()
+                .concatMap(tick -> maintainLogged(), 1)
+                .subscribe();
+    }
+
+    @Override
+    public void stop() {
+        if (maintaining != null) {
+            maintaining.dispose();
+            maintaining = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return maintaining != null && !maintaining.isDisposed();
+    }
+
+    /**
+     * Starts before the web server, so that the partition of the current month exists before tasks are written.
+     */
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    Mono<Void> maintain() {
+        var history = properties.getHistory();
+        var created = taskRepository.createEventPartitions(history.getPartitionsAhead());
+        if (history.getRetentionMonths() == 0) {
+            return created;
+        }
+        return created.then(taskRepository.dropEventPartitions(history.getRetentionMonths()))
+                .doOnNext(dropped -> {
+                    if (dropped > 0) {
+                        log.info("Dropped {} expired task history partitions", dropped);
+                    }
+                })
+                .then();
+    }
+
+    private Mono<Void> maintainLogged() {
+        return maintain()
+                .onErrorResume(e -> {
+                    log.warn("Could not maintain task history partitions", e);
+                    return Mono.empty();
+                });
+    }
+
+}
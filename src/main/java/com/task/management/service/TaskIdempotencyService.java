@@ -0,0 +1,136 @@
+package com.task.management.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.task.management.config.TaskManagementProperties;
+import com.task.management.exception.IdempotencyKeyReusedException;
+import com.task.management.repository.TaskIdempotencyRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.function.Function;
+
+/**
+ * Runs creations sent with an {@code Idempotency-Key} at most once per key. The first request claims the key,
+ * runs and stores its response in the same transaction; repeats of it get the stored response replayed, and
+ * duplicates arriving while it is still running wait for it to commit instead of running concurrently.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TaskIdempotencyService implements SmartLifecycle {
+
+    private final TaskIdempotencyRepository taskIdempotencyRepository;
+    private final TransactionalOperator transactionalOperator;
+    private final ObjectMapper objectMapper;
+    private final TaskManagementProperties properties;
+
+    private volatile Disposable purge;
+
+    public <R, T> Mono<T> execute(String key, String operation, Mono<R> request,
+                                  Function<R, Mono<T>> action, Class<T> responseType) {
+        return executeMany(key, operation, request.flux(), requests -> requests.concatMap(action), responseType)
+                .singleOrEmpty();
+    }
+
+    public <R, T> Flux<T> executeMany(String key, String operation, Flux<R> requests,
+                                      Function<Flux<R>, Flux<T>> action, Class<T> responseType) {
+        return Flux.defer(() -> {
+            var digest = sha256();
+            var hashedRequests = requests.doOnNext(request -> digest.update(toJson(request)));
+            var ttl = properties.getIdempotency().getKeyTtl();
+            var responses = taskIdempotencyRepository.claim(key, operation, ttl)
+                    .flatMapMany(claimed -> claimed
+                            ? record(key, action.apply(hashedRequests), digest)
+                            : replay(key, operation, hashedRequests, digest, responseType));
+            return transactionalOperator.transactional(responses);
+        });
+    }
+
+    @Override
+    public void start() {
+        var idempotency = properties.getIdempotency();
+        purge = Flux.interval(Duration.ZERO, idempotency.getPurgeInterval())
+                .onBackpressureDrop()
+                .concatMap(tick -> taskIdempotencyRepository.deleteExpired(idempotency.getKeyTtl())
+                        .onErrorResume(e -> {
+                            log.warn("Could not purge expired idempotency keys", e);
+                            return Mono.empty();
+                        }))
+                .subscribe(purged -> log.debug("Purged {} expired idempotency keys", purged));
+    }
+
+    @Override
+    public void stop() {
+        if (purge != null) {
+            purge.dispose();
+            purge = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return purge != null && !purge.isDisposed();
+    }
+
+    private <T> Flux<T> record(String key, Flux<T> responses, MessageDigest digest) {
+        var storedResponse = new StringBuilder();
+        return responses
+                .doOnNext(response -> storedResponse.append(new String(toJson(response), StandardCharsets.UTF_8)).append('\n'))
+                .concatWith(Mono.defer(() -> taskIdempotencyRepository.complete(key, hex(digest), storedResponse.toString()))
+                        .then(Mono.empty()));
+    }
+
+    private <R, T> Flux<T> replay(String key, String operation, Flux<R> requests, MessageDigest digest, Class<T> responseType) {
+        return requests.then(taskIdempotencyRepository.find(key))
+                .flatMapMany(stored -> {
+                    if (!operation.equals(stored.getOperation()) || !hex(digest).equals(stored.getRequestHash())) {
+                        return Flux.error(new IdempotencyKeyReusedException(
+                                "The idempotency key:{%s} was already used for a different request".formatted(key)));
+                    }
+                    log.debug("Replaying the response stored for idempotency key {}", key);
+                    return Flux.fromStream(stored.getResponse().lines())
+                            .map(line -> fromJson(line, responseType));
+                });
+    }
+
+    private byte[] toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsBytes(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize " + value.getClass().getSimpleName(), e);
+        }
+    }
+
+    private <T> T fromJson(String json, Class<T> type) {
+        try {
+            return objectMapper.readValue(json, type);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not read a stored " + type.getSimpleName(), e);
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String hex(MessageDigest digest) {
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+}
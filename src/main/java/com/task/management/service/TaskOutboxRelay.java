@@ -0,0 +1,82 @@
+package com.task.management.service;
+
+import com.task.management.config.TaskManagementProperties;
+import com.task.management.model.TaskOutboxEvent;
+import com.task.management.repository.TaskOutboxRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Moves task change events from the outbox to the {@link TaskOutboxSink}. Every {@code poll-interval} it
+ * publishes the oldest events in batches of {@code batch-size} and deletes them in the transaction that locked
+ * them, until the outbox is empty. Events are published in outbox order per batch; when several instances relay
+ * concurrently, batches may be published out of order, and consumers should order by event id.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TaskOutboxRelay implements SmartLifecycle {
+
+    private final TaskOutboxRepository taskOutboxRepository;
+    private final TaskOutboxSink taskOutboxSink;
+    private final TransactionalOperator transactionalOperator;
+    private final TaskManagementProperties properties;
+
+    private volatile Disposable relaying;
+
+    @Override
+    public void start() {
+        relaying = Flux.interval(properties.getOutbox().getPollInterval())
+                .onBackpressureDrop()
+                .concatMap(tick -> relay()
+                        .onErrorResume(e -> {
+                            log.warn("Could not relay task outbox events", e);
+                            return Mono.empty();
+                        }), 1)
+                .subscribe();
+    }
+
+    @Override
+    public void stop() {
+        if (relaying != null) {
+            relaying.dispose();
+            relaying = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return relaying != null && !relaying.isDisposed();
+    }
+
+    /**
+     * Relays batches until one is not full. Safe to call while other relays run, in this instance or others,
+     * as each batch only takes events no other relay holds.
+     *
+     * @return the number of events relayed
+     */
+    public Mono<Long> relay() {
+        var batchSize = properties.getOutbox().getBatchSize();
+        return transactionalOperator.transactional(relayBatch(batchSize))
+                .flatMap(relayed -> relayed < batchSize
+                        ? Mono.just(relayed)
+                        : relay().map(more -> relayed + more));
+    }
+
+    private Mono<Long> relayBatch(int batchSize) {
+        return taskOutboxRepository.lockOldest(batchSize)
+                .collectList()
+                .flatMap(events -> events.isEmpty()
+                        ? Mono.just(0L)
+                        : taskOutboxSink.publish(events)
+                        .then(Mono.defer(() -> taskOutboxRepository.deleteAll(
+                                events.stream().map(TaskOutboxEvent::getId).toList()))));
+    }
+
+}
@@ -0,0 +1,17 @@
+package com.task.management.service;
+
+import com.task.management.model.TaskOutboxEvent;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Destination of the task change events relayed from the outbox, selected by {@code task-management.outbox.sink}.
+ * Events are removed from the outbox once {@link #publish} completes, and published again after a failure, so a
+ * sink delivers each event at least once.
+ */
+public interface TaskOutboxSink {
+
+    Mono<Void> publish(List<TaskOutboxEvent> events);
+
+}
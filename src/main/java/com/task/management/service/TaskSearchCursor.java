@@ -0,0 +1,24 @@
+package com.task.management.service;
+
+import lombok.Value;
+
+import java.util.UUID;
+
+/**
+ * Opaque keyset position over the {@code (rank DESC, id DESC)} order of search results.
+ */
+@Value
+public class TaskSearchCursor {
+
+    float rank;
+    UUID id;
+
+    public String encode() {
+        return KeysetCursor.encode(Float.toString(rank), id);
+    }
+
+    public static TaskSearchCursor decode(String cursor) {
+        return KeysetCursor.decode(cursor, (rank, id) -> new TaskSearchCursor(Float.parseFloat(rank), UUID.fromString(id)));
+    }
+
+}
@@ -1,22 +1,41 @@
 package com.task.management.service;
 
+import com.task.management.config.TaskManagementProperties;
+import com.task.management.dto.TaskBatchItemDto;
+import com.task.management.dto.TaskChangeEventDto;
 import com.task.management.dto.TaskCreateRequestDto;
 import com.task.management.dto.TaskDto;
+import com.task.management.dto.TaskEventDto;
+import com.task.management.dto.TaskFilter;
+import com.task.management.dto.TaskProjection;
+import com.task.management.dto.TaskQueuedUpdateRequestDto;
+import com.task.management.dto.TaskSearchResultDto;
 import com.task.management.dto.TaskUpdateDto;
-import com.task.management.dto.TaskUpdateRequestDto;
 import com.task.management.exception.IllegalTaskManagementOperationException;
 import com.task.management.exception.TaskNotFoundException;
+import com.task.management.exception.TaskUpdateQueueFullException;
+import com.task.management.exception.TaskVersionConflictException;
 import com.task.management.model.Task;
+import com.task.management.model.TaskChange;
+import com.task.management.model.TaskEvent;
+import com.task.management.model.TaskQueuedUpdate;
 import com.task.management.model.TaskStatus;
+import com.task.management.repository.TaskExportRepository;
 import com.task.management.repository.TaskRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.time.ZonedDateTime;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Predicate;
 
 
 @Service
@@ -24,17 +43,76 @@ import java.util.UUID;
 @Slf4j
 public class TaskService {
 
+    private static final Set<TaskStatus> REMOVABLE_STATUSES = EnumSet.of(TaskStatus.TODO, TaskStatus.CANCELLED);
+
     private final TaskRepository taskRepository;
+    private final TaskExportRepository taskExportRepository;
+    private final TaskCache taskCache;
+    private final TransactionalOperator transactionalOperator;
+    private final TaskChangeHub taskChangeHub;
+    private final TaskManagementProperties properties;
+    private final TaskUpdateQueue taskUpdateQueue;
 
-    public Flux<TaskDto> findAll(int page, int size) {
+    public Flux<TaskDto> findAll(TaskFilter filter, TaskProjection projection, int page, int size) {
         var offset = page * size;
-        var tasks = taskRepository.findAllPaged(size, offset);
-        return tasks.map(this::convertToDto);
+        var tasks = taskRepository.findAllPaged(filter, projection, size, offset);
+        return tasks.map(this::convertToDto)
+                .map(projection::apply);
+    }
+
+    public Flux<TaskDto> findAllAfter(TaskFilter filter, TaskProjection projection, String cursor, int size) {
+        // decoded on subscription, so that an invalid cursor is signalled as an error instead of thrown
+        return Flux.defer(() -> {
+                    var position = TaskCursor.decode(cursor);
+                    return taskRepository.findAllAfter(filter, projection, position.getCreationDate(), position.getId(), size);
+                })
+                .map(this::convertToDto)
+                .map(projection::apply);
+    }
+
+    public Flux<TaskSearchResultDto> search(String query, TaskFilter filter, String cursor, int size) {
+        return Flux.defer(() -> {
+                    var position = cursor != null ? TaskSearchCursor.decode(cursor) : null;
+                    return taskRepository.search(query, filter,
+                            position != null ? position.getRank() : null,
+                            position != null ? position.getId() : null,
+                            size);
+                })
+                .map(hit -> TaskSearchResultDto.builder()
+                        .rank(hit.getRank())
+                        .task(convertToDto(hit.getTask()))
+                        .build());
+    }
+
+    public Flux<TaskEventDto> findHistory(UUID taskId, String cursor, int size) {
+        return Flux.defer(() -> {
+                    var position = cursor != null ? TaskEventCursor.decode(cursor) : null;
+                    return taskRepository.findEvents(taskId,
+                            position != null ? position.getTime() : null,
+                            position != null ? position.getId() : null,
+                            size);
+                })
+                .map(this::convertToDto);
+    }
+
+    /**
+     * Streams every matching task through the export pool, so that a long transfer never holds a
+     * connection of the regular pool.
+     */
+    public Flux<TaskDto> streamAll(TaskFilter filter, TaskProjection projection) {
+        return taskExportRepository.exportAll(filter, projection)
+                .map(this::convertToDto)
+                .map(projection::apply);
+    }
+
+    public Flux<TaskDto> export(TaskFilter filter) {
+        return taskExportRepository.exportAll(filter, TaskProjection.ALL)
+                .map(this::convertToDto);
     }
 
     public Mono<TaskDto> findById(UUID taskId) {
-        log.info("Find task by id {}", taskId);
-        return taskRepository.findById(taskId)
+        log.debug("Find task by id {}", taskId);
+        return taskCache.get(taskId, taskRepository::findById)
                 .switchIfEmpty(Mono.error(
                         new TaskNotFoundException("Task not found with id:{%s}".formatted(taskId))
                 ))
@@ -42,84 +120,183 @@ public class TaskService {
     }
 
     public Mono<TaskDto> save(TaskCreateRequestDto taskCreationRequestDto) {
-        log.info("Save task {}", taskCreationRequestDto);
-        var task = taskRepository.save(Task.builder()
-                .assigneeId(taskCreationRequestDto.getAssigneeId())
-                .description(taskCreationRequestDto.getDescription())
-                .ownerId(taskCreationRequestDto.getOwnerId())
-                .title(taskCreationRequestDto.getTitle())
-                .creationDate(ZonedDateTime.now())
-                .status(TaskStatus.TODO)
-                .build());
+        log.debug("Save task {}", taskCreationRequestDto);
+        var task = taskRepository.save(newTask(taskCreationRequestDto));
         return task.map(this::convertToDto);
     }
 
+    public Flux<TaskBatchItemDto> saveAll(Flux<TaskCreateRequestDto> taskCreationRequestDtos) {
+        var savedTasks = taskCreationRequestDtos
+                .map(this::newTask)
+                .buffer(properties.getBatch().getChunkSize())
+                .concatMap(taskRepository::insertAll)
+                .index()
+                .map(indexedTask -> TaskBatchItemDto.builder()
+                        .index(indexedTask.getT1().intValue())
+                        .task(convertToDto(indexedTask.getT2()))
+                        .build());
+        return transactionalOperator.transactional(savedTasks);
+    }
+
     public Mono<TaskDto> update(TaskUpdateDto taskUpdateDto) {
-        log.info("Update task {}", taskUpdateDto);
-        return taskRepository.findById(taskUpdateDto.getId())
-                .switchIfEmpty(Mono.error(
-                        new TaskNotFoundException("Task not found with id:{%s}".formatted(taskUpdateDto.getId()))
-                ))
-                .map(t -> merge(t, taskUpdateDto.getTaskUpdateRequestDto()))
-                .flatMap(taskRepository::save)
+        log.debug("Update task {}", taskUpdateDto);
+        var taskId = taskUpdateDto.getId();
+        var requestDto = taskUpdateDto.getTaskUpdateRequestDto();
+        return taskRepository.updateIfValid(taskId,
+                        requestDto.getTitle(),
+                        requestDto.getDescription(),
+                        requestDto.getAssigneeId(),
+                        requestDto.getStatus() != null ? TaskStatus.valueOf(requestDto.getStatus().getValue()).getCode() : null,
+                        taskUpdateDto.getExpectedVersion())
+                .doOnNext(task -> taskCache.invalidate(taskId))
+                .switchIfEmpty(Mono.defer(() -> rejectUpdate(taskId, taskUpdateDto.getExpectedVersion())))
                 .map(this::convertToDto);
     }
 
+    /**
+     * Queues a status and/or assignee change to be written in a later batch. Completing only means the change was
+     * accepted: it is validated when written and lost if the application stops before that.
+     */
+    public Mono<Void> queueUpdate(UUID taskId, TaskQueuedUpdateRequestDto requestDto) {
+        log.debug("Queue update of task {} {}", taskId, requestDto);
+        if (requestDto.getStatus() == null && requestDto.getAssigneeId() == null) {
+            return Mono.error(new IllegalTaskManagementOperationException("Either status or assigneeId must be given"));
+        }
+        var update = TaskQueuedUpdate.builder()
+                .id(taskId)
+                .status(requestDto.getStatus() != null ? TaskStatus.valueOf(requestDto.getStatus().getValue()) : null)
+                .assigneeId(requestDto.getAssigneeId())
+                .build();
+        if (!taskUpdateQueue.offer(update)) {
+            return Mono.error(new TaskUpdateQueueFullException("Too many queued task updates"));
+        }
+        return Mono.empty();
+    }
+
     public Mono<String> delete(UUID taskId) {
-        log.info("Delete task by id {}", taskId);
+        log.debug("Delete task by id {}", taskId);
+        return taskRepository.deleteIfRemovable(taskId)
+                .doOnNext(taskCache::invalidate)
+                .map(UUID::toString)
+                .switchIfEmpty(Mono.defer(() -> rejectDelete(taskId)));
+    }
+
+    public Flux<UUID> deleteAll(TaskFilter filter) {
+        log.debug("Delete tasks matching {}", filter);
+        if (!REMOVABLE_STATUSES.contains(filter.getStatus())) {
+            return Flux.error(new IllegalTaskManagementOperationException(
+                    "Tasks with status:{%s} are not valid for deletion".formatted(filter.getStatus())
+            ));
+        }
+        return taskRepository.deleteAllMatching(filter)
+                .doOnNext(taskCache::invalidate);
+    }
+
+    public Flux<ServerSentEvent<TaskChangeEventDto>> streamChanges(UUID ownerId, UUID assigneeId, String lastEventId) {
+        Predicate<TaskChange> filter = change -> (ownerId == null || ownerId.equals(change.getOwnerId()))
+                && (assigneeId == null || assigneeId.equals(change.getAssigneeId()));
+        var events = taskChangeHub.changes(filter, parseSequence(lastEventId))
+                .map(this::toServerSentEvent);
+        var heartbeats = Flux.interval(properties.getEvents().getHeartbeatInterval())
+                .map(tick -> ServerSentEvent.<TaskChangeEventDto>builder().comment("heartbeat").build());
+        // heartbeats stop as soon as the change stream ends, e.g. when a slow subscriber is disconnected
+        return events.publish(shared -> Flux.merge(shared, heartbeats.takeUntilOther(shared.ignoreElements())));
+    }
+
+    private ServerSentEvent<TaskChangeEventDto> toServerSentEvent(TaskChange change) {
+        if (change.isGap()) {
+            // no id, so that a reconnect still resumes after the last change actually received
+            return ServerSentEvent.builder(TaskChangeEventDto.builder()
+                            .sequence(change.getSequence())
+                            .type(TaskChangeEventDto.TypeEnum.GAP)
+                            .build())
+                    .event(TaskChangeEventDto.TypeEnum.GAP.getValue())
+                    .build();
+        }
+        return ServerSentEvent.builder(convertToDto(change))
+                .id(String.valueOf(change.getSequence()))
+                .event(change.getType().name())
+                .build();
+    }
+
+    private Long parseSequence(String lastEventId) {
+        if (lastEventId == null || lastEventId.isBlank()) {
+            return null;
+        }
+        try {
+            return Long.valueOf(lastEventId.trim());
+        } catch (NumberFormatException e) {
+            log.debug("Ignoring invalid Last-Event-ID {}", lastEventId);
+            return null;
+        }
+    }
+
+    private Task newTask(TaskCreateRequestDto taskCreationRequestDto) {
+        return Task.builder()
+                .assigneeId(taskCreationRequestDto.getAssigneeId())
+                .description(taskCreationRequestDto.getDescription())
+                .ownerId(taskCreationRequestDto.getOwnerId())
+                .title(taskCreationRequestDto.getTitle())
+                .creationDate(ZonedDateTime.now())
+                .status(TaskStatus.TODO)
+                .build();
+    }
+
+    private Mono<Task> rejectUpdate(UUID taskId, Long expectedVersion) {
         return taskRepository.findById(taskId)
                 .switchIfEmpty(Mono.error(new TaskNotFoundException("Task not found with id:{%s}".formatted(taskId))))
-                .flatMap(task -> {
-                    if (!isValidityForRemove(task)) {
-                        return Mono.error(new IllegalTaskManagementOperationException(
-                                "The task with id:{%s} is not valid for deletion".formatted(task.getId())
-                        ));
-                    }
-                    return taskRepository.deleteById(taskId).thenReturn(taskId.toString());
-                });
-    }
-
-
-    private Task merge(Task task, TaskUpdateRequestDto requestDto) {
-        var taskBuilder = task.toBuilder()
-                .assigneeId(requestDto.getAssigneeId() != null ? requestDto.getAssigneeId() : task.getAssigneeId())
-                .description(requestDto.getDescription() != null ? requestDto.getDescription() : task.getDescription())
-                .title(requestDto.getTitle()  != null ? requestDto.getTitle() : task.getTitle())
-                .modificationDate(ZonedDateTime.now())
-                .status(requestDto.getStatus() != null ? TaskStatus.valueOf(requestDto.getStatus().getValue()) : task.getStatus());
-        var mergedTask = taskBuilder.build();
-        if(isInvalidForUpdate(mergedTask)) {
-            throw new IllegalTaskManagementOperationException("The task with id:{%s} is not valid for update".formatted(task.getId()));
-        }
-        return mergedTask;
+                .flatMap(task -> Mono.<Task>error(expectedVersion != null && !expectedVersion.equals(task.getVersion())
+                        ? new TaskVersionConflictException("The task with id:{%s} has been modified concurrently".formatted(taskId))
+                        : new IllegalTaskManagementOperationException("The task with id:{%s} is not valid for update".formatted(taskId))));
     }
 
+    private Mono<String> rejectDelete(UUID taskId) {
+        return taskRepository.existsById(taskId)
+                .flatMap(exists -> Mono.<String>error(exists
+                        ? new IllegalTaskManagementOperationException("The task with id:{%s} is not valid for deletion".formatted(taskId))
+                        : new TaskNotFoundException("Task not found with id:{%s}".formatted(taskId))));
+    }
 
-    private boolean isInvalidForUpdate(Task task) {
-        log.info("Check update validity for task {}", task);
-        return task.getAssigneeId() == null &&
-                (task.getStatus().equals(TaskStatus.IN_PROGRESS) ||
-                        task.getStatus().equals(TaskStatus.DONE) ||
-                        task.getStatus().equals(TaskStatus.UNDER_REVIEW) ||
-                        task.getStatus().equals(TaskStatus.APPROVED));
+    private TaskChangeEventDto convertToDto(TaskChange change) {
+        return TaskChangeEventDto.builder()
+                .sequence(change.getSequence())
+                .type(TaskChangeEventDto.TypeEnum.valueOf(change.getType().name()))
+                .taskId(change.getTaskId())
+                .ownerId(change.getOwnerId())
+                .assigneeId(change.getAssigneeId())
+                .status(change.getStatus() != null ? com.task.management.dto.TaskStatus.valueOf(change.getStatus().name()) : null)
+                .build();
     }
 
-    private boolean isValidityForRemove(Task task) {
-        return task.getStatus().equals(TaskStatus.TODO)
-                || task.getStatus().equals(TaskStatus.CANCELLED);
+    private TaskEventDto convertToDto(TaskEvent event) {
+        var changes = event.getChanges();
+        if (changes != null && changes.get("status") instanceof Number code) {
+            changes = new HashMap<>(changes);
+            changes.put("status", TaskStatus.fromCode(code.shortValue()).name());
+        }
+        return TaskEventDto.builder()
+                .id(event.getId())
+                .type(TaskEventDto.TypeEnum.valueOf(event.getType().name()))
+                .time(event.getTime())
+                .version(event.getVersion())
+                .changes(changes)
+                .build();
     }
 
     private TaskDto convertToDto(Task task) {
-        log.info("Converting task {}", task);
+        if (log.isTraceEnabled()) {
+            log.trace("Converting task {}", task.getId());
+        }
         return TaskDto.builder()
                 .id(task.getId())
                 .title(task.getTitle())
                 .description(task.getDescription())
-                .status(com.task.management.dto.TaskStatus.valueOf(task.getStatus().name()))
+                .status(task.getStatus() != null ? com.task.management.dto.TaskStatus.valueOf(task.getStatus().name()) : null)
                 .creationDate(task.getCreationDate())
                 .modificationDate(task.getModificationDate())
                 .assigneeId(task.getAssigneeId())
                 .ownerId(task.getOwnerId())
+                .version(task.getVersion())
                 .build();
     }
 
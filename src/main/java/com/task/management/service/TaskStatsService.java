@@ -0,0 +1,83 @@
+package com.task.management.service;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.task.management.config.TaskManagementProperties;
+import com.task.management.dto.TaskCountDto;
+import com.task.management.dto.TaskFilter;
+import com.task.management.dto.TaskStatsDto;
+import com.task.management.model.TaskCount;
+import com.task.management.model.TaskCountGrouping;
+import com.task.management.repository.TaskRepository;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+
+@Service
+public class TaskStatsService {
+
+    private static final long ESTIMATED_COUNTS_SIZE = 1_000;
+
+    private final TaskRepository taskRepository;
+    private final Mono<TaskStatsDto> cachedFastStats;
+    private final AsyncCache<TaskFilter, Long> estimatedCounts;
+
+    public TaskStatsService(TaskRepository taskRepository, TaskManagementProperties properties) {
+        this.taskRepository = taskRepository;
+        var cacheTtl = properties.getStats().getCacheTtl();
+        this.cachedFastStats = Mono.defer(() -> loadStats(false))
+                .cache(stats -> cacheTtl, error -> Duration.ZERO, () -> Duration.ZERO);
+        this.estimatedCounts = Caffeine.newBuilder()
+                .maximumSize(ESTIMATED_COUNTS_SIZE)
+                .expireAfterWrite(cacheTtl)
+                .buildAsync();
+    }
+
+    /**
+     * Counts the tasks matching the filter, exactly or from an estimate that is reused for the stats cache TTL.
+     */
+    public Mono<Long> countTasks(TaskFilter filter, boolean exact) {
+        if (exact) {
+            return taskRepository.countMatching(filter);
+        }
+        return Mono.fromFuture(() -> estimatedCounts.get(filter,
+                (key, executor) -> taskRepository.estimateMatching(key).toFuture()), true);
+    }
+
+    public Mono<TaskStatsDto> getStats(boolean exact) {
+        return exact ? loadStats(true) : cachedFastStats;
+    }
+
+    private Mono<TaskStatsDto> loadStats(boolean exact) {
+        return Mono.zip(count(TaskCountGrouping.STATUS, exact),
+                        count(TaskCountGrouping.OWNER, exact),
+                        count(TaskCountGrouping.ASSIGNEE, exact))
+                .map(counts -> TaskStatsDto.builder()
+                        .mode(exact ? TaskStatsDto.ModeEnum.EXACT : TaskStatsDto.ModeEnum.FAST)
+                        .byStatus(counts.getT1())
+                        .byOwner(counts.getT2())
+                        .byAssignee(counts.getT3())
+                        .build());
+    }
+
+    private Mono<List<TaskCountDto>> count(TaskCountGrouping grouping, boolean exact) {
+        Flux<TaskCount> counts = exact
+                ? taskRepository.countExactly(grouping)
+                : taskRepository.countFromSummary(grouping);
+        return counts.map(TaskStatsService::convertToDto)
+                .collectList();
+    }
+
+    private static TaskCountDto convertToDto(TaskCount taskCount) {
+        return TaskCountDto.builder()
+                .status(com.task.management.dto.TaskStatus.valueOf(taskCount.getStatus().name()))
+                .ownerId(taskCount.getOwnerId())
+                .assigneeId(taskCount.getAssigneeId())
+                .count(taskCount.getCount())
+                .build();
+    }
+
+}
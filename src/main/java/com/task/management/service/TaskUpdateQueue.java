@@ -0,0 +1,183 @@
+package com.task.management.service;
+
+import com.task.management.config.TaskManagementProperties;
+import com.task.management.model.TaskQueuedUpdate;
+import com.task.management.repository.TaskRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Write-behind queue of status and assignee changes. Changes are kept in memory per task, so that several changes
+ * of the same task are written as one, and are written in batches of {@code batch-size} tasks per UPDATE as soon
+ * as a batch is full or {@code flush-interval} has passed. At most {@code capacity} tasks are queued or being
+ * written at any time. Changes are not durable until written: the ones still queued when the process dies are
+ * lost, and the ones that are not valid for the task when written are dropped.
+ */
+@Component
+@Slf4j
+public class TaskUpdateQueue implements SmartLifecycle {
+
+    private final TaskRepository taskRepository;
+    private final TaskCache taskCache;
+    private final TaskManagementProperties.UpdateQueue properties;
+    private final ConcurrentHashMap<UUID, TaskQueuedUpdate> pending = new ConcurrentHashMap<>();
+    /**
+     * Capacity taken by queued tasks and by tasks being written, released once their write is done.
+     */
+    private final AtomicInteger reserved = new AtomicInteger();
+    private final Sinks.Many<Boolean> fullBatches = Sinks.many().unicast().onBackpressureBuffer();
+    private final Counter appliedUpdates;
+    private final Counter droppedUpdates;
+
+    private volatile Sinks.One<Boolean> stopSignal;
+    private volatile Mono<Void> stopped;
+
+    public TaskUpdateQueue(TaskRepository taskRepository,
+                           TaskCache taskCache,
+                           TaskManagementProperties properties,
+                           MeterRegistry meterRegistry) {
+        this.taskRepository = taskRepository;
+        this.taskCache = taskCache;
+        this.properties = properties.getUpdateQueue();
+        meterRegistry.gaugeMapSize("task.update.queue.pending", List.of(), pending);
+        this.appliedUpdates = meterRegistry.counter("task.update.queue.updates", "outcome", "applied");
+        this.droppedUpdates = meterRegistry.counter("task.update.queue.updates", "outcome", "dropped");
+    }
+
+    /**
+     * Queues the update, merged into the one already queued for the same task if any.
+     *
+     * @return false if the queue is full and the update was not accepted
+     */
+    public boolean offer(TaskQueuedUpdate update) {
+        var queued = pending.compute(update.getId(),
+                (id, earlier) -> earlier != null ? earlier.mergedWith(update) : reserve() ? update : null);
+        if (queued == null) {
+            return false;
+        }
+        if (pending.size() >= properties.getBatchSize()) {
+            // a failed emission means another thread is signalling the same full batch
+            fullBatches.tryEmitNext(true);
+        }
+        return true;
+    }
+
+    @Override
+    public void start() {
+        var signal = Sinks.<Boolean>one();
+        // on stop no flush is triggered anymore, the running one completes and a last one writes what is left
+        var flushed = Flux.merge(Flux.interval(properties.getFlushInterval()), fullBatches.asFlux())
+                .takeUntilOther(signal.asMono())
+                .onBackpressureDrop()
+                .concatMap(trigger -> flush(), 1)
+                .then(Mono.defer(this::flush))
+                .cache();
+        stopSignal = signal;
+        stopped = flushed;
+        flushed.subscribe();
+    }
+
+    @Override
+    public void stop(Runnable callback) {
+        var signal = stopSignal;
+        if (signal == null) {
+            callback.run();
+            return;
+        }
+        stopSignal = null;
+        signal.tryEmitValue(true);
+        stopped.doFinally(done -> callback.run())
+                .subscribe();
+    }
+
+    @Override
+    public void stop() {
+        stop(() -> {
+        });
+    }
+
+    @Override
+    public boolean isRunning() {
+        return stopSignal != null;
+    }
+
+    /**
+     * Starts before and stops after the web server, so that changes accepted until shutdown are still written.
+     */
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    /**
+     * Writes queued updates batch by batch until the queue is empty. A batch that fails, or whose write is
+     * cancelled, is queued again and retried by the next flush.
+     */
+    Mono<Void> flush() {
+        var batch = drain();
+        if (batch.isEmpty()) {
+            return Mono.empty();
+        }
+        return taskRepository.updateAll(batch)
+                .doOnNext(taskCache::invalidate)
+                .count()
+                .map(applied -> {
+                    reserved.addAndGet(-batch.size());
+                    appliedUpdates.increment(applied);
+                    droppedUpdates.increment(batch.size() - applied);
+                    if (applied < batch.size()) {
+                        log.debug("Dropped {} queued task updates that were not valid", batch.size() - applied);
+                    }
+                    return true;
+                })
+                .onErrorResume(e -> {
+                    log.warn("Could not write {} queued task updates, requeueing them", batch.size(), e);
+                    requeue(batch);
+                    return Mono.just(false);
+                })
+                .doOnCancel(() -> requeue(batch))
+                .flatMap(written -> written ? flush() : Mono.empty());
+    }
+
+    /**
+     * Queues the updates of a batch that was not written again. Each of them still holds its capacity, unless a
+     * later change of the same task was queued in the meantime with a capacity of its own.
+     */
+    private void requeue(List<TaskQueuedUpdate> batch) {
+        // changes queued in the meantime were made later, so they win over the requeued ones
+        batch.forEach(update -> pending.merge(update.getId(), update, (later, failed) -> {
+            reserved.decrementAndGet();
+            return failed.mergedWith(later);
+        }));
+    }
+
+    private boolean reserve() {
+        var capacity = properties.getCapacity();
+        return reserved.getAndUpdate(count -> count < capacity ? count + 1 : count) < capacity;
+    }
+
+    private List<TaskQueuedUpdate> drain() {
+        var batch = new ArrayList<TaskQueuedUpdate>(Math.min(pending.size(), properties.getBatchSize()));
+        var ids = pending.keySet().iterator();
+        while (batch.size() < properties.getBatchSize() && ids.hasNext()) {
+            var update = pending.remove(ids.next());
+            if (update != null) {
+                batch.add(update);
+            }
+        }
+        return batch;
+    }
+
+}
@@ -0,0 +1,6 @@
+UPDATE task SET creation_date = COALESCE(modification_date, now()) WHERE creation_date IS NULL;
+
+ALTER TABLE task ALTER COLUMN creation_date SET DEFAULT now();
+ALTER TABLE task ALTER COLUMN creation_date SET NOT NULL;
+
+CREATE INDEX idx_task_creation_date_id ON task (creation_date, id);
@@ -0,0 +1,4 @@
+CREATE INDEX idx_task_status_creation_date_id ON task (status, creation_date, id);
+CREATE INDEX idx_task_owner_status_creation_date_id ON task (owner_id, status, creation_date, id);
+CREATE INDEX idx_task_assignee_status_creation_date_id ON task (assignee_id, status, creation_date, id);
+CREATE INDEX idx_task_modification_date ON task (modification_date);
@@ -0,0 +1,42 @@
+-- Single SQL definition of the status codes, must stay in sync with com.task.management.model.TaskStatus
+CREATE OR REPLACE FUNCTION task_status_code(name TEXT) RETURNS SMALLINT AS $$
+BEGIN
+    IF name IS NULL THEN
+        RETURN NULL;
+    END IF;
+    CASE name
+        WHEN 'TODO' THEN RETURN 0;
+        WHEN 'IN_PROGRESS' THEN RETURN 1;
+        WHEN 'UNDER_REVIEW' THEN RETURN 2;
+        WHEN 'APPROVED' THEN RETURN 3;
+        WHEN 'DONE' THEN RETURN 4;
+        WHEN 'CANCELLED' THEN RETURN 5;
+        ELSE RAISE EXCEPTION 'Unknown task status: %', name;
+    END CASE;
+END;
+$$ LANGUAGE plpgsql IMMUTABLE;
+
+CREATE OR REPLACE FUNCTION task_status_name(code SMALLINT) RETURNS TEXT AS $$
+BEGIN
+    IF code IS NULL THEN
+        RETURN NULL;
+    END IF;
+    CASE code
+        WHEN 0 THEN RETURN 'TODO';
+        WHEN 1 THEN RETURN 'IN_PROGRESS';
+        WHEN 2 THEN RETURN 'UNDER_REVIEW';
+        WHEN 3 THEN RETURN 'APPROVED';
+        WHEN 4 THEN RETURN 'DONE';
+        WHEN 5 THEN RETURN 'CANCELLED';
+        ELSE RAISE EXCEPTION 'Unknown task status code: %', code;
+    END CASE;
+END;
+$$ LANGUAGE plpgsql IMMUTABLE;
+
+-- task_status_code raises on any other legacy value, which fails the migration instead of nulling the status
+ALTER TABLE task
+    ALTER COLUMN owner_id TYPE UUID USING NULLIF(owner_id, '')::UUID,
+    ALTER COLUMN assignee_id TYPE UUID USING NULLIF(assignee_id, '')::UUID,
+    ALTER COLUMN status TYPE SMALLINT USING task_status_code(status);
+
+ALTER TABLE task ADD CONSTRAINT chk_task_status CHECK (status BETWEEN 0 AND 5);
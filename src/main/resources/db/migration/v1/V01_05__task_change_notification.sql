@@ -0,0 +1,14 @@
+CREATE FUNCTION notify_task_changed() RETURNS TRIGGER AS $$
+BEGIN
+    IF TG_OP = 'DELETE' THEN
+        PERFORM pg_notify('task_changed', OLD.id::TEXT);
+    ELSE
+        PERFORM pg_notify('task_changed', NEW.id::TEXT);
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_task_changed
+    AFTER UPDATE OR DELETE ON task
+    FOR EACH ROW EXECUTE FUNCTION notify_task_changed();
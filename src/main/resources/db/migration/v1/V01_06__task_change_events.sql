@@ -0,0 +1,26 @@
+CREATE SEQUENCE task_change_seq;
+
+CREATE OR REPLACE FUNCTION notify_task_changed() RETURNS TRIGGER AS $$
+DECLARE
+    changed task;
+BEGIN
+    IF TG_OP = 'DELETE' THEN
+        changed := OLD;
+    ELSE
+        changed := NEW;
+    END IF;
+    PERFORM pg_notify('task_changed', json_build_object(
+            'sequence', nextval('task_change_seq'),
+            'operation', TG_OP,
+            'id', changed.id,
+            'ownerId', changed.owner_id,
+            'assigneeId', changed.assignee_id,
+            'status', changed.status)::TEXT);
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER trg_task_changed ON task;
+CREATE TRIGGER trg_task_changed
+    AFTER INSERT OR UPDATE OR DELETE ON task
+    FOR EACH ROW EXECUTE FUNCTION notify_task_changed();
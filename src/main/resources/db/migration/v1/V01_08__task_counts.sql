@@ -0,0 +1,116 @@
+-- Totals per group, only written by the periodic fold of task_count_delta
+CREATE TABLE task_status_count (
+    status     SMALLINT PRIMARY KEY,
+    task_count BIGINT NOT NULL
+);
+
+CREATE TABLE task_owner_count (
+    owner_id   UUID     NOT NULL,
+    status     SMALLINT NOT NULL,
+    task_count BIGINT   NOT NULL,
+    PRIMARY KEY (owner_id, status)
+);
+
+CREATE TABLE task_assignee_count (
+    assignee_id UUID     NOT NULL,
+    status      SMALLINT NOT NULL,
+    task_count  BIGINT   NOT NULL,
+    PRIMARY KEY (assignee_id, status)
+);
+
+-- Append-only count changes written by the task triggers. Writers only ever insert here, so concurrent
+-- writes never wait on a shared counter row.
+CREATE TABLE task_count_delta (
+    status      SMALLINT NOT NULL,
+    owner_id    UUID,
+    assignee_id UUID,
+    delta       BIGINT   NOT NULL
+);
+
+INSERT INTO task_status_count (status, task_count)
+SELECT status, COUNT(*) FROM task GROUP BY status;
+
+INSERT INTO task_owner_count (owner_id, status, task_count)
+SELECT owner_id, status, COUNT(*) FROM task WHERE owner_id IS NOT NULL GROUP BY owner_id, status;
+
+INSERT INTO task_assignee_count (assignee_id, status, task_count)
+SELECT assignee_id, status, COUNT(*) FROM task WHERE assignee_id IS NOT NULL GROUP BY assignee_id, status;
+
+-- Current counts: the folded totals plus the deltas not folded yet
+CREATE VIEW task_status_count_current AS
+SELECT status, SUM(task_count)::BIGINT AS task_count
+FROM (SELECT status, task_count FROM task_status_count
+      UNION ALL
+      SELECT status, delta FROM task_count_delta) counts
+GROUP BY status;
+
+CREATE VIEW task_owner_count_current AS
+SELECT owner_id, status, SUM(task_count)::BIGINT AS task_count
+FROM (SELECT owner_id, status, task_count FROM task_owner_count
+      UNION ALL
+      SELECT owner_id, status, delta FROM task_count_delta WHERE owner_id IS NOT NULL) counts
+GROUP BY owner_id, status;
+
+CREATE VIEW task_assignee_count_current AS
+SELECT assignee_id, status, SUM(task_count)::BIGINT AS task_count
+FROM (SELECT assignee_id, status, task_count FROM task_assignee_count
+      UNION ALL
+      SELECT assignee_id, status, delta FROM task_count_delta WHERE assignee_id IS NOT NULL) counts
+GROUP BY assignee_id, status;
+
+-- Statement level, so a multi-row insert writes one delta row per group instead of one per task
+CREATE FUNCTION count_inserted_tasks() RETURNS TRIGGER AS $$
+BEGIN
+    INSERT INTO task_count_delta (status, owner_id, assignee_id, delta)
+    SELECT status, owner_id, assignee_id, COUNT(*)
+    FROM inserted_tasks
+    GROUP BY status, owner_id, assignee_id;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE FUNCTION count_updated_tasks() RETURNS TRIGGER AS $$
+BEGIN
+    INSERT INTO task_count_delta (status, owner_id, assignee_id, delta)
+    SELECT status, owner_id, assignee_id, SUM(delta)
+    FROM (SELECT old_task.status, old_task.owner_id, old_task.assignee_id, -1 AS delta
+          FROM old_tasks old_task
+                   JOIN new_tasks new_task ON new_task.id = old_task.id
+          WHERE (old_task.status, old_task.owner_id, old_task.assignee_id)
+                    IS DISTINCT FROM (new_task.status, new_task.owner_id, new_task.assignee_id)
+          UNION ALL
+          SELECT new_task.status, new_task.owner_id, new_task.assignee_id, 1 AS delta
+          FROM old_tasks old_task
+                   JOIN new_tasks new_task ON new_task.id = old_task.id
+          WHERE (old_task.status, old_task.owner_id, old_task.assignee_id)
+                    IS DISTINCT FROM (new_task.status, new_task.owner_id, new_task.assignee_id)) changes
+    GROUP BY status, owner_id, assignee_id
+    HAVING SUM(delta) <> 0;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE FUNCTION count_deleted_tasks() RETURNS TRIGGER AS $$
+BEGIN
+    INSERT INTO task_count_delta (status, owner_id, assignee_id, delta)
+    SELECT status, owner_id, assignee_id, -COUNT(*)
+    FROM deleted_tasks
+    GROUP BY status, owner_id, assignee_id;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_task_counts_insert
+    AFTER INSERT ON task
+    REFERENCING NEW TABLE AS inserted_tasks
+    FOR EACH STATEMENT EXECUTE FUNCTION count_inserted_tasks();
+
+CREATE TRIGGER trg_task_counts_update
+    AFTER UPDATE ON task
+    REFERENCING OLD TABLE AS old_tasks NEW TABLE AS new_tasks
+    FOR EACH STATEMENT EXECUTE FUNCTION count_updated_tasks();
+
+CREATE TRIGGER trg_task_counts_delete
+    AFTER DELETE ON task
+    REFERENCING OLD TABLE AS deleted_tasks
+    FOR EACH STATEMENT EXECUTE FUNCTION count_deleted_tasks();
@@ -0,0 +1,9 @@
+CREATE TABLE task_idempotency_key (
+    idempotency_key VARCHAR(255) PRIMARY KEY,
+    operation       VARCHAR(32)  NOT NULL,
+    request_hash    VARCHAR(64),
+    response        TEXT,
+    created_at      TIMESTAMPTZ  NOT NULL DEFAULT now()
+);
+
+CREATE INDEX idx_task_idempotency_key_created_at ON task_idempotency_key (created_at);
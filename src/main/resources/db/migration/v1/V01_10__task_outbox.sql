@@ -0,0 +1,35 @@
+CREATE TABLE task_outbox (
+    id         BIGSERIAL PRIMARY KEY,
+    operation  VARCHAR(6)  NOT NULL,
+    task_id    UUID        NOT NULL,
+    payload    JSONB       NOT NULL,
+    created_at TIMESTAMPTZ NOT NULL DEFAULT now()
+);
+
+CREATE OR REPLACE FUNCTION write_task_outbox() RETURNS TRIGGER AS $$
+DECLARE
+    changed task;
+BEGIN
+    IF TG_OP = 'DELETE' THEN
+        changed := OLD;
+    ELSE
+        changed := NEW;
+    END IF;
+    INSERT INTO task_outbox (operation, task_id, payload)
+    VALUES (TG_OP, changed.id, jsonb_build_object(
+            'id', changed.id,
+            'title', changed.title,
+            'description', changed.description,
+            'creationDate', changed.creation_date,
+            'modificationDate', changed.modification_date,
+            'status', task_status_name(changed.status),
+            'ownerId', changed.owner_id,
+            'assigneeId', changed.assignee_id,
+            'version', changed.version));
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_task_outbox
+    AFTER INSERT OR UPDATE OR DELETE ON task
+    FOR EACH ROW EXECUTE FUNCTION write_task_outbox();
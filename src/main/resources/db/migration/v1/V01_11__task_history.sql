@@ -0,0 +1,88 @@
+CREATE SEQUENCE task_event_id_seq;
+
+-- changes only holds the fields a change modified, keyed like the API properties, status as its stored code
+CREATE TABLE task_event (
+    id         BIGINT      NOT NULL DEFAULT nextval('task_event_id_seq'),
+    task_id    UUID        NOT NULL,
+    event_time TIMESTAMPTZ NOT NULL DEFAULT now(),
+    operation  VARCHAR(6)  NOT NULL,
+    version    BIGINT,
+    changes    JSONB
+) PARTITION BY RANGE (event_time);
+
+CREATE INDEX idx_task_event_task_id_event_time_id ON task_event (task_id, event_time, id);
+
+-- There is no default partition: partitions of a table with one cannot be detached concurrently, and rows it
+-- held for a month would have to be moved before that month's partition could be created. The partitions of the
+-- current and following months are created ahead of time instead, by this migration and by the application.
+CREATE OR REPLACE FUNCTION create_task_event_partition(month DATE) RETURNS VOID AS $$
+DECLARE
+    start_date DATE := date_trunc('month', month);
+BEGIN
+    EXECUTE format('CREATE TABLE IF NOT EXISTS %I PARTITION OF task_event FOR VALUES FROM (%L) TO (%L)',
+                   'task_event_' || to_char(start_date, 'YYYY_MM'), start_date, start_date + INTERVAL '1 month');
+END;
+$$ LANGUAGE plpgsql;
+
+-- Partitions whose month ended before the given date. They are detached concurrently and dropped by the caller,
+-- as DETACH PARTITION ... CONCURRENTLY cannot run inside a function; a detach that was interrupted is still
+-- listed, with detach_pending set, and has to be finalized instead.
+CREATE OR REPLACE FUNCTION expired_task_event_partitions(before DATE)
+    RETURNS TABLE (partition_name TEXT, detach_pending BOOLEAN) AS $$
+    SELECT child.relname::TEXT, pg_inherits.inhdetachpending
+    FROM pg_inherits
+             JOIN pg_class parent ON parent.oid = pg_inherits.inhparent
+             JOIN pg_class child ON child.oid = pg_inherits.inhrelid
+    WHERE parent.relname = 'task_event'
+      AND child.relname ~ '^task_event_\d{4}_\d{2}$'
+      AND to_date(substring(child.relname FROM 12), 'YYYY_MM') + INTERVAL '1 month' <= before
+    ORDER BY child.relname;
+$$ LANGUAGE sql STABLE;
+
+SELECT create_task_event_partition((date_trunc('month', now()) + make_interval(months => ahead))::DATE)
+FROM generate_series(0, 2) ahead;
+
+CREATE OR REPLACE FUNCTION record_task_event() RETURNS TRIGGER AS $$
+DECLARE
+    new_fields JSONB;
+    old_fields JSONB;
+    changed    JSONB;
+BEGIN
+    IF TG_OP <> 'DELETE' THEN
+        new_fields := jsonb_build_object(
+                'title', NEW.title,
+                'description', NEW.description,
+                'status', NEW.status,
+                'ownerId', NEW.owner_id,
+                'assigneeId', NEW.assignee_id);
+    END IF;
+    IF TG_OP = 'INSERT' THEN
+        changed := jsonb_strip_nulls(new_fields);
+    ELSIF TG_OP = 'UPDATE' THEN
+        old_fields := jsonb_build_object(
+                'title', OLD.title,
+                'description', OLD.description,
+                'status', OLD.status,
+                'ownerId', OLD.owner_id,
+                'assigneeId', OLD.assignee_id);
+        SELECT jsonb_object_agg(new_field.key, new_field.value)
+        INTO changed
+        FROM jsonb_each(new_fields) new_field
+                 JOIN jsonb_each(old_fields) old_field ON old_field.key = new_field.key
+        WHERE new_field.value IS DISTINCT FROM old_field.value;
+        IF changed IS NULL THEN
+            RETURN NULL;
+        END IF;
+    END IF;
+    INSERT INTO task_event (task_id, operation, version, changes)
+    VALUES (CASE WHEN TG_OP = 'DELETE' THEN OLD.id ELSE NEW.id END,
+            TG_OP,
+            CASE WHEN TG_OP = 'DELETE' THEN OLD.version ELSE NEW.version END,
+            changed);
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_task_event
+    AFTER INSERT OR UPDATE OR DELETE ON task
+    FOR EACH ROW EXECUTE FUNCTION record_task_event();
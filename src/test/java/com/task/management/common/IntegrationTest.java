@@ -39,6 +39,8 @@ public class IntegrationTest {
         registry.add("spring.flyway.url", postgres::getJdbcUrl);
         registry.add("spring.flyway.user", postgres::getUsername);
         registry.add("spring.flyway.password", postgres::getPassword);
+
+        registry.add("task-management.outbox.sink", () -> "memory");
     }
 
     @Autowired
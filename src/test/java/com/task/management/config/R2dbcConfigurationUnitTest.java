@@ -0,0 +1,53 @@
+package com.task.management.config;
+
+import com.task.management.model.TaskStatus;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+public class R2dbcConfigurationUnitTest {
+
+    private final R2dbcConfiguration.TaskStatusWritingConverter writingConverter = new R2dbcConfiguration.TaskStatusWritingConverter();
+    private final R2dbcConfiguration.TaskStatusReadingConverter readingConverter = new R2dbcConfiguration.TaskStatusReadingConverter();
+
+    @ParameterizedTest
+    @EnumSource(TaskStatus.class)
+    @DisplayName("should read back every status from the code it is written as")
+    void convert_should_round_trip(TaskStatus status) {
+
+        //when
+        var code = writingConverter.convert(status);
+
+        //then
+        Assertions.assertEquals(status.getCode(), code);
+        Assertions.assertEquals(status, readingConverter.convert(code));
+
+    }
+
+    @Test
+    @DisplayName("should keep the stored status codes")
+    void convert_should_keep_stored_codes() {
+
+        //then
+        Assertions.assertEquals((short) 0, writingConverter.convert(TaskStatus.TODO));
+        Assertions.assertEquals((short) 1, writingConverter.convert(TaskStatus.IN_PROGRESS));
+        Assertions.assertEquals((short) 2, writingConverter.convert(TaskStatus.UNDER_REVIEW));
+        Assertions.assertEquals((short) 3, writingConverter.convert(TaskStatus.APPROVED));
+        Assertions.assertEquals((short) 4, writingConverter.convert(TaskStatus.DONE));
+        Assertions.assertEquals((short) 5, writingConverter.convert(TaskStatus.CANCELLED));
+
+    }
+
+    @Test
+    @DisplayName("should reject an unknown status code")
+    void convert_should_fail_with_unknown_code() {
+
+        //when
+        //then
+        Assertions.assertThrows(IllegalArgumentException.class, () -> readingConverter.convert((short) 6));
+
+    }
+
+}
@@ -0,0 +1,67 @@
+package com.task.management.config;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.SpringApplication;
+import org.springframework.mock.env.MockEnvironment;
+import reactor.netty.resources.LoopResources;
+
+public class R2dbcPoolEnvironmentPostProcessorUnitTest {
+
+    private final R2dbcPoolEnvironmentPostProcessor postProcessor = new R2dbcPoolEnvironmentPostProcessor();
+
+    @Test
+    @DisplayName("should size the pool after the event loops by default")
+    void postProcessEnvironment_should_derive_defaults() {
+
+        //given
+        var environment = new MockEnvironment();
+
+        //when
+        postProcessor.postProcessEnvironment(environment, new SpringApplication());
+
+        //then
+        var eventLoops = LoopResources.DEFAULT_IO_WORKER_COUNT;
+        Assertions.assertEquals(2 * eventLoops, environment.getProperty("spring.r2dbc.pool.max-size", Integer.class));
+        Assertions.assertEquals(eventLoops, environment.getProperty("spring.r2dbc.pool.initial-size", Integer.class));
+
+    }
+
+    @Test
+    @DisplayName("should scale the pool with the configured connections per event loop")
+    void postProcessEnvironment_should_use_connections_per_event_loop() {
+
+        //given
+        var environment = new MockEnvironment()
+                .withProperty("task-management.pool.connections-per-event-loop", "3");
+
+        //when
+        postProcessor.postProcessEnvironment(environment, new SpringApplication());
+
+        //then
+        Assertions.assertEquals(3 * LoopResources.DEFAULT_IO_WORKER_COUNT,
+                environment.getProperty("spring.r2dbc.pool.max-size", Integer.class));
+
+    }
+
+    @Test
+    @DisplayName("should keep explicitly configured pool sizes")
+    void postProcessEnvironment_should_keep_explicit_values() {
+
+        //given
+        var environment = new MockEnvironment()
+                .withProperty("spring.r2dbc.pool.max-size", "7")
+                .withProperty("spring.r2dbc.pool.initial-size", "1");
+
+        //when
+        postProcessor.postProcessEnvironment(environment, new SpringApplication());
+
+        //then
+        Assertions.assertEquals(7, environment.getProperty("spring.r2dbc.pool.max-size", Integer.class));
+        Assertions.assertEquals(1, environment.getProperty("spring.r2dbc.pool.initial-size", Integer.class));
+        Assertions.assertNotNull(environment.getPropertySources().get(R2dbcPoolEnvironmentPostProcessor.PROPERTY_SOURCE_NAME));
+
+    }
+
+}
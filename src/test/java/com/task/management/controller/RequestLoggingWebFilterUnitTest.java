@@ -0,0 +1,160 @@
+package com.task.management.controller;
+
+import com.task.management.config.TaskManagementProperties;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+
+@ExtendWith(OutputCaptureExtension.class)
+public class RequestLoggingWebFilterUnitTest {
+
+    private TaskManagementProperties properties;
+    private RequestLoggingWebFilter requestLoggingWebFilter;
+
+    @BeforeEach
+    void setup() {
+        properties = new TaskManagementProperties();
+        requestLoggingWebFilter = new RequestLoggingWebFilter(properties);
+    }
+
+    @Test
+    @DisplayName("should log the status, the recorded result count and the latency of a request")
+    void filter_should_log_request(CapturedOutput output) {
+
+        //given
+        var exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/tasks/search"));
+
+        //when
+        var result = requestLoggingWebFilter.filter(exchange, filteredExchange -> {
+            RequestLoggingWebFilter.recordResultCount(filteredExchange, 3);
+            filteredExchange.getResponse().setStatusCode(HttpStatus.OK);
+            return Mono.empty();
+        });
+
+        //then
+        StepVerifier.create(result)
+                .verifyComplete();
+        Assertions.assertTrue(output.getOut().contains("method=GET path=/tasks/search status=200 count=3 latencyMs="));
+        Assertions.assertTrue(output.getOut().contains("signal=onComplete"));
+
+    }
+
+    @Test
+    @DisplayName("should count the items of a streamed response body")
+    void filter_should_count_streamed_results(CapturedOutput output) {
+
+        //given
+        var exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/tasks"));
+
+        //when
+        var result = requestLoggingWebFilter.filter(exchange, filteredExchange -> {
+            filteredExchange.getResponse().setStatusCode(HttpStatus.OK);
+            return RequestLoggingWebFilter.countResults(filteredExchange, Flux.just("a", "b")).then();
+        });
+
+        //then
+        StepVerifier.create(result)
+                .verifyComplete();
+        Assertions.assertTrue(output.getOut().contains("path=/tasks status=200 count=2"));
+
+    }
+
+    @Test
+    @DisplayName("should leave results uncounted outside of the filter")
+    void countResults_should_pass_through_without_filter() {
+
+        //given
+        var exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/tasks"));
+
+        //when
+        var result = RequestLoggingWebFilter.countResults(exchange, Flux.just("a", "b"));
+        RequestLoggingWebFilter.recordResultCount(exchange, 2);
+
+        //then
+        StepVerifier.create(result)
+                .expectNext("a", "b")
+                .verifyComplete();
+
+    }
+
+    @Test
+    @DisplayName("should always log an errored request even when successful requests are not sampled")
+    void filter_should_log_errored_request(CapturedOutput output) {
+
+        //given
+        properties.getRequestLogging().setSampleRate(0.0);
+        var exchange = MockServerWebExchange.from(MockServerHttpRequest.delete("/tasks/failing"));
+
+        //when
+        var result = requestLoggingWebFilter.filter(exchange, filteredExchange -> Mono.error(new IllegalStateException("boom")));
+
+        //then
+        StepVerifier.create(result)
+                .verifyError(IllegalStateException.class);
+        Assertions.assertTrue(output.getOut().contains("method=DELETE path=/tasks/failing status=null count=0"));
+        Assertions.assertTrue(output.getOut().contains("signal=onError"));
+
+    }
+
+    @Test
+    @DisplayName("should always log server errors and skip unsampled successful requests")
+    void filter_should_sample_successful_requests(CapturedOutput output) {
+
+        //given
+        properties.getRequestLogging().setSampleRate(0.0);
+        var failed = MockServerWebExchange.from(MockServerHttpRequest.get("/tasks/failed"));
+        var succeeded = MockServerWebExchange.from(MockServerHttpRequest.get("/tasks/succeeded"));
+
+        //when
+        var result = requestLoggingWebFilter.filter(failed, filteredExchange -> {
+                    filteredExchange.getResponse().setStatusCode(HttpStatus.SERVICE_UNAVAILABLE);
+                    return Mono.empty();
+                })
+                .then(requestLoggingWebFilter.filter(succeeded, filteredExchange -> {
+                    filteredExchange.getResponse().setStatusCode(HttpStatus.OK);
+                    return Mono.empty();
+                }));
+
+        //then
+        StepVerifier.create(result)
+                .verifyComplete();
+        Assertions.assertTrue(output.getOut().contains("path=/tasks/failed status=503"));
+        Assertions.assertFalse(output.getOut().contains("path=/tasks/succeeded"));
+
+    }
+
+    @Test
+    @DisplayName("should always log a request slower than the threshold")
+    void filter_should_log_slow_request(CapturedOutput output) {
+
+        //given
+        properties.getRequestLogging().setSampleRate(0.0);
+        properties.getRequestLogging().setSlowThreshold(Duration.ofMillis(50));
+        var exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/tasks/slow"));
+
+        //when
+        var result = requestLoggingWebFilter.filter(exchange, filteredExchange -> {
+            filteredExchange.getResponse().setStatusCode(HttpStatus.OK);
+            return Mono.delay(Duration.ofMillis(100)).then();
+        });
+
+        //then
+        StepVerifier.create(result)
+                .verifyComplete();
+        Assertions.assertTrue(output.getOut().contains("path=/tasks/slow status=200"));
+
+    }
+
+}
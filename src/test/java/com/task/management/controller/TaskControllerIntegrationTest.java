@@ -1,12 +1,27 @@
 package com.task.management.controller;
 
 import com.task.management.common.IntegrationTest;
+import com.task.management.common.TaskConstants;
+import com.task.management.config.TaskManagementProperties;
+import com.task.management.dto.TaskBatchItemDto;
+import com.task.management.dto.TaskChangeEventDto;
 import com.task.management.dto.TaskCreateRequestDto;
 import com.task.management.dto.TaskDto;
+import com.task.management.dto.TaskEventDto;
+import com.task.management.dto.TaskQueuedUpdateRequestDto;
+import com.task.management.dto.TaskSearchResultDto;
+import com.task.management.dto.TaskStatsDto;
 import com.task.management.dto.TaskUpdateRequestDto;
 import com.task.management.model.Task;
+import com.task.management.model.TaskChangeType;
+import com.task.management.model.TaskOutboxEvent;
 import com.task.management.model.TaskStatus;
 import com.task.management.repository.TaskRepository;
+import com.task.management.service.InMemoryTaskOutboxSink;
+import com.task.management.service.TaskOutboxRelay;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.spi.Connection;
+import org.awaitility.Awaitility;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
@@ -20,19 +35,33 @@ import org.junit.jupiter.api.TestMethodOrder;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.EnumSource;
 import org.junit.jupiter.params.provider.MethodSource;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.r2dbc.core.DatabaseClient;
 import org.springframework.test.context.ActiveProfiles;
 import org.testcontainers.junit.jupiter.Testcontainers;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.UUID;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.DEFINED_PORT)
@@ -46,6 +75,57 @@ public class TaskControllerIntegrationTest extends IntegrationTest {
     @Autowired
     private TaskRepository taskRepository;
 
+    @Autowired
+    private InMemoryTaskOutboxSink taskOutboxSink;
+
+    @Autowired
+    private TaskOutboxRelay taskOutboxRelay;
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    @Nested
+    @DisplayName("Test the status mapping of the database")
+    @TestInstance(TestInstance.Lifecycle.PER_CLASS)
+    class StatusMappingTest {
+
+        @ParameterizedTest
+        @EnumSource(TaskStatus.class)
+        @DisplayName("should map every status like TaskStatus")
+        void status_mapping_succeed(TaskStatus status) {
+
+            //when
+            var mapping = databaseClient.sql("SELECT task_status_name(:code) AS name, task_status_code(:name) AS code")
+                    .bind("code", status.getCode())
+                    .bind("name", status.name())
+                    .map(row -> Map.entry(row.get("name", String.class), row.get("code", Short.class)))
+                    .one();
+
+            //then
+            StepVerifier.create(mapping)
+                    .expectNext(Map.entry(status.name(), status.getCode()))
+                    .verifyComplete();
+
+        }
+
+        @Test
+        @DisplayName("should reject an unknown status instead of mapping it to null")
+        void status_mapping_fail_with_unknown_status() {
+
+            //when
+            var mapping = databaseClient.sql("SELECT task_status_code('ARCHIVED') AS code")
+                    .map(row -> row.get("code", Short.class))
+                    .one();
+
+            //then
+            StepVerifier.create(mapping)
+                    .expectErrorMatches(e -> e.getMessage().contains("Unknown task status: ARCHIVED"))
+                    .verify();
+
+        }
+
+    }
+
     @Nested
     @DisplayName("Test Get /tasks")
     @TestInstance(TestInstance.Lifecycle.PER_CLASS)
@@ -184,6 +264,258 @@ public class TaskControllerIntegrationTest extends IntegrationTest {
 
         }
 
+        @Test
+        @DisplayName("should walk all tasks with the next cursor")
+        @Order(4)
+        void test_getAll_with_cursor() {
+
+            //given
+            var size = 4;
+            var firstPage = webTestClient.get()
+                    .uri(uriBuilder -> uriBuilder
+                            .path("/tasks")
+                            .queryParam("size", size)
+                            .build())
+                    .exchange()
+                    .expectStatus().isOk()
+                    .expectHeader().exists(TaskConstants.NEXT_CURSOR_HEADER)
+                    .returnResult(TaskDto.class);
+            var cursor = firstPage.getResponseHeaders().getFirst(TaskConstants.NEXT_CURSOR_HEADER);
+
+            //when
+            var response = webTestClient.get()
+                    .uri(uriBuilder -> uriBuilder
+                            .path("/tasks")
+                            .queryParam("size", size)
+                            .queryParam("cursor", cursor)
+                            .build())
+                    .exchange();
+
+            //then
+            response.expectStatus().isOk()
+                    .expectHeader().doesNotExist(TaskConstants.NEXT_CURSOR_HEADER)
+                    .expectBodyList(TaskDto.class)
+                    .hasSize(tasksInDatabase.size() - size)
+                    .consumeWith(result -> {
+                        List<TaskDto> taskList = result.getResponseBody();
+                        assert taskList != null;
+                        assert taskList.stream().anyMatch(t -> t.getTitle().equals("Task 5"));
+                        assert taskList.stream().anyMatch(t -> t.getTitle().equals("Task 6"));
+                    });
+
+        }
+
+        @Test
+        @DisplayName("should reject a malformed cursor")
+        @Order(5)
+        void test_getAll_invalid_cursor() {
+
+            //when
+            var response = webTestClient.get()
+                    .uri(uriBuilder -> uriBuilder
+                            .path("/tasks")
+                            .queryParam("cursor", "not-a-cursor")
+                            .build())
+                    .exchange();
+
+            //then
+            response.expectStatus().isBadRequest()
+                    .expectBody(String.class)
+                    .consumeWith(result -> {
+                        String errorMessage = result.getResponseBody();
+                        assert errorMessage != null && errorMessage.contains("Invalid cursor");
+                    });
+
+        }
+
+        @Test
+        @DisplayName("should only return tasks matching the filter")
+        @Order(6)
+        void test_getAll_filtered() {
+
+            //given
+            var ownerId = UUID.randomUUID();
+            var assigneeId = UUID.randomUUID();
+            taskRepository.saveAll(List.of(
+                    Task.builder()
+                            .title("Filtered 1")
+                            .status(TaskStatus.IN_PROGRESS)
+                            .ownerId(ownerId)
+                            .assigneeId(assigneeId)
+                            .build(),
+                    Task.builder()
+                            .title("Filtered 2")
+                            .status(TaskStatus.DONE)
+                            .ownerId(ownerId)
+                            .assigneeId(assigneeId)
+                            .build())).collectList().block();
+
+            //when
+            var response = webTestClient.get()
+                    .uri(uriBuilder -> uriBuilder
+                            .path("/tasks")
+                            .queryParam("status", "IN_PROGRESS")
+                            .queryParam("assigneeId", assigneeId)
+                            .build())
+                    .exchange();
+
+            //then
+            response.expectStatus().isOk()
+                    .expectBodyList(TaskDto.class)
+                    .hasSize(1)
+                    .consumeWith(result -> {
+                        List<TaskDto> taskList = result.getResponseBody();
+                        assert taskList != null;
+                        assert taskList.get(0).getTitle().equals("Filtered 1");
+                    });
+
+        }
+
+        @Test
+        @DisplayName("should stream every task as NDJSON when size is 0")
+        @Order(7)
+        void test_getAll_stream_ndjson() {
+
+            //given
+            var tasksInDatabase = taskRepository.count().block();
+
+            //when
+            var response = webTestClient.get()
+                    .uri(uriBuilder -> uriBuilder
+                            .path("/tasks")
+                            .queryParam("size", 0)
+                            .build())
+                    .accept(MediaType.APPLICATION_NDJSON)
+                    .exchange();
+
+            //then
+            response.expectStatus().isOk()
+                    .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                    .expectHeader().doesNotExist(TaskConstants.NEXT_CURSOR_HEADER)
+                    .expectBodyList(TaskDto.class)
+                    .consumeWith(result -> {
+                        List<TaskDto> taskList = result.getResponseBody();
+                        assert taskList != null;
+                        Assertions.assertEquals(tasksInDatabase, taskList.size());
+                    });
+
+        }
+
+        @Test
+        @DisplayName("should return the exact total count of matching tasks")
+        @Order(8)
+        void test_getAll_exact_count() {
+
+            //given
+            var doneTasks = taskRepository.findAll()
+                    .filter(task -> task.getStatus() == TaskStatus.DONE)
+                    .count().block();
+
+            //when
+            var response = webTestClient.get()
+                    .uri(uriBuilder -> uriBuilder
+                            .path("/tasks")
+                            .queryParam("status", "DONE")
+                            .queryParam("size", 1)
+                            .queryParam("count", "exact")
+                            .build())
+                    .exchange();
+
+            //then
+            response.expectStatus().isOk()
+                    .expectHeader().valueEquals(TaskConstants.TOTAL_COUNT_HEADER, String.valueOf(doneTasks))
+                    .expectBodyList(TaskDto.class)
+                    .hasSize(1);
+
+        }
+
+        @Test
+        @DisplayName("should return an estimated total count from the summary tables")
+        @Order(9)
+        void test_getAll_estimated_count() {
+
+            //given
+            var tasksInDatabase = taskRepository.count().block();
+
+            //when
+            var response = webTestClient.get()
+                    .uri(uriBuilder -> uriBuilder
+                            .path("/tasks")
+                            .queryParam("count", "estimated")
+                            .build())
+                    .exchange();
+
+            //then
+            response.expectStatus().isOk()
+                    .expectHeader().valueEquals(TaskConstants.TOTAL_COUNT_HEADER, String.valueOf(tasksInDatabase));
+
+        }
+
+        @Test
+        @DisplayName("should reject an unknown count mode")
+        @Order(10)
+        void test_getAll_invalid_count() {
+
+            //when
+            var response = webTestClient.get()
+                    .uri(uriBuilder -> uriBuilder
+                            .path("/tasks")
+                            .queryParam("count", "approximate")
+                            .build())
+                    .exchange();
+
+            //then
+            response.expectStatus().isBadRequest()
+                    .expectHeader().doesNotExist(TaskConstants.TOTAL_COUNT_HEADER);
+
+        }
+
+        @Test
+        @DisplayName("should only return the selected fields")
+        @Order(11)
+        void test_getAll_fields() {
+
+            //when
+            var response = webTestClient.get()
+                    .uri(uriBuilder -> uriBuilder
+                            .path("/tasks")
+                            .queryParam("size", 2)
+                            .queryParam("fields", "title,status")
+                            .build())
+                    .exchange();
+
+            //then
+            response.expectStatus().isOk()
+                    .expectHeader().exists(TaskConstants.NEXT_CURSOR_HEADER)
+                    .expectBody()
+                    .jsonPath("$.length()").isEqualTo(2)
+                    .jsonPath("$[0].id").exists()
+                    .jsonPath("$[0].creationDate").exists()
+                    .jsonPath("$[0].title").exists()
+                    .jsonPath("$[0].status").exists()
+                    .jsonPath("$[0].description").doesNotExist()
+                    .jsonPath("$[0].version").doesNotExist();
+
+        }
+
+        @Test
+        @DisplayName("should reject an unknown field")
+        @Order(12)
+        void test_getAll_invalid_fields() {
+
+            //when
+            var response = webTestClient.get()
+                    .uri(uriBuilder -> uriBuilder
+                            .path("/tasks")
+                            .queryParam("fields", "title,secret")
+                            .build())
+                    .exchange();
+
+            //then
+            response.expectStatus().isBadRequest();
+
+        }
+
         @Test
         @DisplayName("should return an empty list")
         @Order(Integer.MAX_VALUE)
@@ -236,83 +568,1136 @@ public class TaskControllerIntegrationTest extends IntegrationTest {
             //when
             var response = webTestClient.get()
                     .uri(uriBuilder -> uriBuilder
-                            .path("/tasks/{id}")
-                            .build(taskId.toString()))
+                            .path("/tasks/{id}")
+                            .build(taskId.toString()))
+                    .exchange();
+
+            //then
+            response.expectStatus().isOk()
+                    .expectBody(TaskDto.class)
+                    .consumeWith(result -> {
+                        TaskDto taskDto = result.getResponseBody();
+                        assert taskDto != null;
+                        assert taskDto.getTitle().equals("Task 1");
+                        assert taskDto.getDescription().equals("description");
+                        assert taskDto.getStatus().name().equals(TaskStatus.DONE.name());
+                    });
+
+        }
+
+        @Test
+        @DisplayName("should only return the selected fields of a task")
+        void test_getById_fields() {
+            //given
+            var taskId = Objects.requireNonNull(taskRepository.save(Task.builder()
+                            .title("Task 1")
+                            .description("description")
+                            .status(TaskStatus.DONE)
+                            .build()).block())
+                    .getId();
+
+            //when
+            var response = webTestClient.get()
+                    .uri(uriBuilder -> uriBuilder
+                            .path("/tasks/{id}")
+                            .queryParam("fields", "title")
+                            .build(taskId.toString()))
+                    .exchange();
+
+            //then
+            response.expectStatus().isOk()
+                    .expectHeader().exists(HttpHeaders.ETAG)
+                    .expectBody()
+                    .jsonPath("$.id").isEqualTo(taskId.toString())
+                    .jsonPath("$.title").isEqualTo("Task 1")
+                    .jsonPath("$.description").doesNotExist()
+                    .jsonPath("$.status").doesNotExist();
+
+        }
+
+        @Test
+        @DisplayName("should write the null fields of a whole task")
+        void test_getById_null_fields() {
+            //given
+            var taskId = Objects.requireNonNull(taskRepository.save(Task.builder()
+                            .title("Task 1")
+                            .status(TaskStatus.TODO)
+                            .build()).block())
+                    .getId();
+
+            //when
+            var response = webTestClient.get()
+                    .uri(uriBuilder -> uriBuilder
+                            .path("/tasks/{id}")
+                            .build(taskId.toString()))
+                    .exchange();
+
+            //then
+            response.expectStatus().isOk()
+                    .expectBody()
+                    .jsonPath("$.description").hasJsonPath()
+                    .jsonPath("$.assigneeId").hasJsonPath();
+
+        }
+
+        @Test
+        @DisplayName("should tag the selected fields apart from the whole task")
+        void test_getById_fields_etag() {
+            //given
+            var taskId = Objects.requireNonNull(taskRepository.save(Task.builder()
+                            .title("Task 1")
+                            .status(TaskStatus.TODO)
+                            .build()).block())
+                    .getId();
+            var wholeETag = webTestClient.get()
+                    .uri(uriBuilder -> uriBuilder
+                            .path("/tasks/{id}")
+                            .build(taskId.toString()))
+                    .exchange()
+                    .expectStatus().isOk()
+                    .returnResult(TaskDto.class)
+                    .getResponseHeaders()
+                    .getETag();
+
+            //when
+            var projected = webTestClient.get()
+                    .uri(uriBuilder -> uriBuilder
+                            .path("/tasks/{id}")
+                            .queryParam("fields", "title")
+                            .build(taskId.toString()))
+                    .ifNoneMatch(wholeETag)
+                    .exchange();
+
+            //then
+            var projectedETag = projected.expectStatus().isOk()
+                    .expectHeader().valueEquals(HttpHeaders.VARY, HttpHeaders.ACCEPT)
+                    .returnResult(TaskDto.class)
+                    .getResponseHeaders()
+                    .getETag();
+            Assertions.assertNotNull(projectedETag);
+            Assertions.assertNotEquals(wholeETag, projectedETag);
+            webTestClient.get()
+                    .uri(uriBuilder -> uriBuilder
+                            .path("/tasks/{id}")
+                            .queryParam("fields", "title")
+                            .build(taskId.toString()))
+                    .ifNoneMatch(projectedETag)
+                    .exchange()
+                    .expectStatus().isNotModified()
+                    .expectHeader().valueEquals(HttpHeaders.ETAG, projectedETag)
+                    .expectHeader().valueEquals(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+
+        }
+
+        @Test
+        @DisplayName("should return 304 while the ETag is still current")
+        void test_getById_not_modified() {
+            //given
+            var taskId = Objects.requireNonNull(taskRepository.save(Task.builder()
+                            .title("Task 1")
+                            .status(TaskStatus.TODO)
+                            .build()).block())
+                    .getId();
+            var eTag = webTestClient.get()
+                    .uri(uriBuilder -> uriBuilder
+                            .path("/tasks/{id}")
+                            .build(taskId.toString()))
+                    .exchange()
+                    .expectStatus().isOk()
+                    .expectHeader().exists(HttpHeaders.ETAG)
+                    .returnResult(TaskDto.class)
+                    .getResponseHeaders()
+                    .getETag();
+
+            //when
+            var response = webTestClient.get()
+                    .uri(uriBuilder -> uriBuilder
+                            .path("/tasks/{id}")
+                            .build(taskId.toString()))
+                    .ifNoneMatch(eTag)
+                    .exchange();
+
+            //then
+            response.expectStatus().isNotModified()
+                    .expectHeader().valueEquals(HttpHeaders.ETAG, eTag)
+                    .expectBody().isEmpty();
+
+        }
+
+        @Test
+        @DisplayName("should not serve a cached task after it was changed in the database")
+        void test_getById_after_external_change() {
+            //given
+            var task = taskRepository.save(Task.builder()
+                    .title("Task 1")
+                    .status(TaskStatus.TODO)
+                    .build()).block();
+            webTestClient.get()
+                    .uri(uriBuilder -> uriBuilder
+                            .path("/tasks/{id}")
+                            .build(task.getId().toString()))
+                    .exchange()
+                    .expectStatus().isOk();
+
+            //when another instance changes the task
+            taskRepository.save(task.toBuilder().title("Task 1 changed").build()).block();
+
+            //then
+            Awaitility.await()
+                    .atMost(Duration.ofSeconds(5))
+                    .untilAsserted(() -> webTestClient.get()
+                            .uri(uriBuilder -> uriBuilder
+                                    .path("/tasks/{id}")
+                                    .build(task.getId().toString()))
+                            .exchange()
+                            .expectStatus().isOk()
+                            .expectBody(TaskDto.class)
+                            .value(taskDto -> Assertions.assertEquals("Task 1 changed", taskDto.getTitle())));
+
+        }
+
+        @Test
+        @DisplayName("should throw TaskNotFoundException")
+        void test_getById_throw_not_found() {
+            //given
+            Task task = Task.builder()
+                    .title("Task 1")
+                    .description("description")
+                    .status(TaskStatus.DONE)
+                    .build();
+            taskRepository.save(task).block();
+            var nonExistingTaskId = UUID.randomUUID();
+
+            //when
+            var response = webTestClient.get()
+                    .uri(uriBuilder -> uriBuilder
+                            .path("/tasks/{id}")
+                            .build(nonExistingTaskId.toString()))
+                    .exchange();
+
+            //then
+            response.expectStatus().isNotFound()
+                    .expectBody(String.class)
+                    .consumeWith(result -> {
+                        String errorResponse = result.getResponseBody();
+                        assert errorResponse != null &&
+                                errorResponse.contains("not found with id:{%s}".formatted(nonExistingTaskId.toString()));
+                    });
+
+        }
+
+        @Test
+        @DisplayName("should throw TaskNotFoundException")
+        void test_getById_validation_error() {
+            //given
+            var invalidTaskId = "invalidTaskId";
+            //when
+            var response = webTestClient.get()
+                    .uri(uriBuilder -> uriBuilder
+                            .path("/tasks/{id}")
+                            .build(invalidTaskId))
+                    .exchange();
+
+            //then
+            response.expectStatus().isBadRequest()
+                    .expectBody(String.class)
+                    .consumeWith(result -> {
+                        String errorResponse = result.getResponseBody();
+                        assert errorResponse != null &&
+                                errorResponse.contains("Type mismatch.");
+                    });
+
+        }
+
+
+    }
+
+    @Nested
+    @DisplayName("Test post /tasks")
+    @TestInstance(TestInstance.Lifecycle.PER_CLASS)
+    class PostTest {
+
+        @BeforeEach
+        void setup() {
+            taskRepository.deleteAll().block();
+        }
+
+        @Test
+        @DisplayName("should create a task with status 'TODO'")
+        void post_succeed() {
+
+            //given
+            var ownerId = UUID.randomUUID();
+            var assigneeId = UUID.randomUUID();
+            var taskCreateRequest = TaskCreateRequestDto.builder()
+                    .description("description")
+                    .title("title")
+                    .ownerId(ownerId)
+                    .assigneeId(assigneeId)
+                    .build();
+
+            //when
+            var response = webTestClient.post()
+                    .uri("/tasks")
+                    .body(Mono.just(taskCreateRequest), TaskCreateRequestDto.class)
+                    .exchange();
+
+            //then
+            response.expectStatus().isCreated()
+                    .expectBody(TaskDto.class)
+                    .consumeWith(result -> {
+                        TaskDto taskDto = result.getResponseBody();
+                        assert taskDto != null;
+                        assert taskDto.getTitle().equals("title");
+                        assert taskDto.getDescription().equals("description");
+                        assert taskDto.getOwnerId().equals(ownerId);
+                        assert taskDto.getAssigneeId().equals(assigneeId);
+                        assert taskDto.getStatus().name().equals(TaskStatus.TODO.name());
+                        assert taskDto.getCreationDate() != null;
+                    });
+
+        }
+
+        @Test
+        @DisplayName("should replay the first response for a repeated Idempotency-Key")
+        void post_idempotent_replay() {
+
+            //given
+            var idempotencyKey = UUID.randomUUID().toString();
+            var taskCreateRequest = TaskCreateRequestDto.builder()
+                    .title("title")
+                    .ownerId(UUID.randomUUID())
+                    .build();
+            var firstTask = webTestClient.post()
+                    .uri("/tasks")
+                    .header("Idempotency-Key", idempotencyKey)
+                    .bodyValue(taskCreateRequest)
+                    .exchange()
+                    .expectStatus().isCreated()
+                    .expectBody(TaskDto.class)
+                    .returnResult()
+                    .getResponseBody();
+
+            //when
+            var response = webTestClient.post()
+                    .uri("/tasks")
+                    .header("Idempotency-Key", idempotencyKey)
+                    .bodyValue(taskCreateRequest)
+                    .exchange();
+
+            //then
+            assert firstTask != null;
+            response.expectStatus().isCreated()
+                    .expectBody(TaskDto.class)
+                    .consumeWith(result -> {
+                        TaskDto taskDto = result.getResponseBody();
+                        assert taskDto != null;
+                        assert taskDto.getId().equals(firstTask.getId());
+                        assert taskDto.getVersion().equals(firstTask.getVersion());
+                    });
+            Assertions.assertEquals(1, taskRepository.count().block());
+
+        }
+
+        @Test
+        @DisplayName("should create a single task for concurrent requests with the same Idempotency-Key")
+        void post_idempotent_concurrent() {
+
+            //given
+            var idempotencyKey = UUID.randomUUID().toString();
+            var taskCreateRequest = TaskCreateRequestDto.builder()
+                    .title("title")
+                    .ownerId(UUID.randomUUID())
+                    .build();
+
+            //when
+            var taskIds = Flux.range(0, 4)
+                    .flatMap(attempt -> Mono.fromCallable(() -> webTestClient.post()
+                                    .uri("/tasks")
+                                    .header("Idempotency-Key", idempotencyKey)
+                                    .bodyValue(taskCreateRequest)
+                                    .exchange()
+                                    .expectStatus().isCreated()
+                                    .expectBody(TaskDto.class)
+                                    .returnResult()
+                                    .getResponseBody())
+                            .subscribeOn(Schedulers.boundedElastic())
+                            .map(TaskDto::getId))
+                    .collectList()
+                    .block();
+
+            //then
+            assert taskIds != null;
+            Assertions.assertEquals(4, taskIds.size());
+            Assertions.assertEquals(1, taskIds.stream().distinct().count());
+            Assertions.assertEquals(1, taskRepository.count().block());
+
+        }
+
+        @Test
+        @DisplayName("should return 422 when an Idempotency-Key is reused for another task")
+        void post_idempotency_key_reused() {
+
+            //given
+            var idempotencyKey = UUID.randomUUID().toString();
+            var ownerId = UUID.randomUUID();
+            webTestClient.post()
+                    .uri("/tasks")
+                    .header("Idempotency-Key", idempotencyKey)
+                    .bodyValue(TaskCreateRequestDto.builder().title("title").ownerId(ownerId).build())
+                    .exchange()
+                    .expectStatus().isCreated();
+
+            //when
+            var response = webTestClient.post()
+                    .uri("/tasks")
+                    .header("Idempotency-Key", idempotencyKey)
+                    .bodyValue(TaskCreateRequestDto.builder().title("other title").ownerId(ownerId).build())
+                    .exchange();
+
+            //then
+            response.expectStatus().isEqualTo(HttpStatus.UNPROCESSABLE_ENTITY)
+                    .expectBody(String.class)
+                    .consumeWith(result -> {
+                        String errorMessage = result.getResponseBody();
+                        assert errorMessage != null && errorMessage.contains("was already used for a different request");
+                    });
+            Assertions.assertEquals(1, taskRepository.count().block());
+
+        }
+
+        @Test
+        @DisplayName("should throw exception")
+        void post_throw_exception() {
+
+            //given
+            var invalidRequestBody = Mono.empty();
+
+            //when
+            var response = webTestClient.post()
+                    .uri("/tasks")
+                    .body(invalidRequestBody, TaskCreateRequestDto.class)
+                    .exchange();
+
+            //then
+            response.expectStatus().isEqualTo(HttpStatus.UNSUPPORTED_MEDIA_TYPE)
+                    .expectBody(String.class)
+                    .consumeWith(result -> {
+                        String errorResponse = result.getResponseBody();
+                        assert errorResponse != null;
+                        assert errorResponse.contains("not supported");
+                    });
+
+        }
+
+        @ParameterizedTest(name = "Invalid params: title={0}, ownerId={1}, errorMessage={2}")
+        @MethodSource("argumentProvider")
+        @DisplayName("should throw validation exception")
+        void post_validation_error(String title, UUID ownerId, String errorMessage) {
+
+            //given
+            var assigneeId = UUID.randomUUID();
+            var taskCreateRequest = TaskCreateRequestDto.builder()
+                    .description("description")
+                    .title(title)
+                    .ownerId(ownerId)
+                    .assigneeId(assigneeId)
+                    .build();
+
+            //when
+            var response = webTestClient.post()
+                    .uri("/tasks")
+                    .body(Mono.just(taskCreateRequest), TaskCreateRequestDto.class)
+                    .exchange();
+
+            //then
+            response.expectStatus().isBadRequest()
+                    .expectBody(String.class)
+                    .consumeWith(result -> {
+                        String errorResponse  = result.getResponseBody();
+                        assert errorResponse != null;
+                        assert errorResponse.contains(errorMessage);
+                    });
+
+        }
+
+        public Stream<Arguments> argumentProvider() {
+
+            return Stream.of(
+                    Arguments.of("title", null, "[Field 'ownerId': must not be null]"),
+                    Arguments.of(null, UUID.randomUUID(),  "[Field 'title': must not be null]"),
+                    Arguments.of("", UUID.randomUUID(), "size must be between 1 and 2147483647")
+            );
+        }
+
+    }
+
+    @Nested
+    @DisplayName("Test Get /tasks/stats")
+    @TestInstance(TestInstance.Lifecycle.PER_CLASS)
+    class StatsTest {
+
+        @Autowired
+        private ConnectionPool connectionPool;
+
+        @Test
+        @DisplayName("should serve the same counts from the summary tables as from the task table")
+        void stats_succeed() {
+
+            //given
+            taskRepository.deleteAll().block();
+            var ownerId = UUID.randomUUID();
+            var assigneeId = UUID.randomUUID();
+            var tasks = taskRepository.saveAll(List.of(
+                    Task.builder().title("Task 1").ownerId(ownerId).status(TaskStatus.TODO).build(),
+                    Task.builder().title("Task 2").ownerId(ownerId).status(TaskStatus.TODO).build(),
+                    Task.builder().title("Task 3").ownerId(ownerId).assigneeId(assigneeId).status(TaskStatus.IN_PROGRESS).build()
+            )).collectList().block();
+            taskRepository.save(tasks.get(1).toBuilder().status(TaskStatus.CANCELLED).build()).block();
+            taskRepository.delete(tasks.get(0)).block();
+
+            //when
+            var exact = webTestClient.get()
+                    .uri("/tasks/stats?mode=exact")
+                    .exchange()
+                    .expectStatus().isOk()
+                    .expectBody(TaskStatsDto.class)
+                    .returnResult()
+                    .getResponseBody();
+            var fast = webTestClient.get()
+                    .uri("/tasks/stats")
+                    .exchange()
+                    .expectStatus().isOk()
+                    .expectBody(TaskStatsDto.class)
+                    .returnResult()
+                    .getResponseBody();
+
+            //then
+            assert exact != null && fast != null;
+            Assertions.assertEquals(TaskStatsDto.ModeEnum.EXACT, exact.getMode());
+            Assertions.assertEquals(TaskStatsDto.ModeEnum.FAST, fast.getMode());
+            Assertions.assertEquals(exact.getByStatus(), fast.getByStatus());
+            Assertions.assertEquals(exact.getByOwner(), fast.getByOwner());
+            Assertions.assertEquals(exact.getByAssignee(), fast.getByAssignee());
+            Assertions.assertEquals(2, exact.getByStatus().size());
+            Assertions.assertEquals(1, exact.getByAssignee().size());
+            Assertions.assertEquals(assigneeId, exact.getByAssignee().get(0).getAssigneeId());
+
+        }
+
+        @Test
+        @DisplayName("should not make writers of the same group wait on each other and fold their counts")
+        void stats_concurrent_writers_succeed() {
+
+            //given
+            taskRepository.deleteAll().block();
+            var ownerId = UUID.randomUUID();
+            var heldConnection = Mono.from(connectionPool.create()).block();
+            assert heldConnection != null;
+            Mono.from(heldConnection.beginTransaction())
+                    .then(Mono.from(heldConnection.createStatement(
+                                    "INSERT INTO task (title, owner_id, status, creation_date) VALUES ('held', $1, 0, now())")
+                            .bind("$1", ownerId)
+                            .execute()))
+                    .flatMap(result -> Mono.from(result.getRowsUpdated()))
+                    .block();
+
+            try {
+                //when
+                var response = webTestClient.mutate()
+                        .responseTimeout(Duration.ofSeconds(5))
+                        .build()
+                        .post()
+                        .uri("/tasks")
+                        .bodyValue(TaskCreateRequestDto.builder().title("title").ownerId(ownerId).build())
+                        .exchange();
+
+                //then
+                response.expectStatus().isCreated();
+            } finally {
+                Mono.from(heldConnection.rollbackTransaction())
+                        .then(Mono.from(heldConnection.close()))
+                        .block();
+            }
+            Awaitility.await()
+                    .atMost(Duration.ofSeconds(5))
+                    .until(() -> databaseClient.sql("SELECT COUNT(*) AS pending FROM task_count_delta")
+                            .map(row -> row.get("pending", Long.class))
+                            .one()
+                            .block() == 0);
+            var folded = databaseClient.sql("SELECT task_count FROM task_owner_count WHERE owner_id = :ownerId AND status = 0")
+                    .bind("ownerId", ownerId)
+                    .map(row -> row.get("task_count", Long.class))
+                    .one()
+                    .block();
+            Assertions.assertEquals(1L, folded);
+
+        }
+
+        @Test
+        @DisplayName("should reject an unknown mode")
+        void stats_validation_error() {
+
+            //when
+            var response = webTestClient.get()
+                    .uri("/tasks/stats?mode=approximate")
+                    .exchange();
+
+            //then
+            response.expectStatus().isBadRequest();
+
+        }
+
+    }
+
+    @Nested
+    @DisplayName("Test Get /tasks/search")
+    @TestInstance(TestInstance.Lifecycle.PER_CLASS)
+    class SearchTest {
+
+        @BeforeAll
+        void setupAll() {
+            taskRepository.deleteAll().block();
+            taskRepository.saveAll(List.of(
+                    Task.builder().title("Write documentation").description("API reference").status(TaskStatus.TODO).build(),
+                    Task.builder().title("Fix login").description("Update the documentation afterwards").status(TaskStatus.TODO).build(),
+                    Task.builder().title("Deploy release").description("Production rollout").status(TaskStatus.TODO).build()
+            )).collectList().block();
+        }
+
+        @Test
+        @DisplayName("should rank title matches before description matches")
+        void search_succeed() {
+
+            //when
+            var response = webTestClient.get()
+                    .uri(uriBuilder -> uriBuilder
+                            .path("/tasks/search")
+                            .queryParam("q", "documentation")
+                            .build())
+                    .exchange();
+
+            //then
+            response.expectStatus().isOk()
+                    .expectBodyList(TaskSearchResultDto.class)
+                    .hasSize(2)
+                    .consumeWith(result -> {
+                        List<TaskSearchResultDto> results = result.getResponseBody();
+                        assert results != null;
+                        Assertions.assertEquals("Write documentation", results.get(0).getTask().getTitle());
+                        Assertions.assertEquals("Fix login", results.get(1).getTask().getTitle());
+                        Assertions.assertTrue(results.get(0).getRank() > results.get(1).getRank());
+                    });
+
+        }
+
+        @Test
+        @DisplayName("should continue after the returned cursor")
+        void search_with_cursor() {
+
+            //given
+            var firstPage = webTestClient.get()
+                    .uri(uriBuilder -> uriBuilder
+                            .path("/tasks/search")
+                            .queryParam("q", "documentation")
+                            .queryParam("size", 1)
+                            .build())
+                    .exchange()
+                    .expectStatus().isOk()
+                    .returnResult(TaskSearchResultDto.class);
+            var cursor = firstPage.getResponseHeaders().getFirst(TaskConstants.NEXT_CURSOR_HEADER);
+            Assertions.assertNotNull(cursor);
+
+            //when
+            var response = webTestClient.get()
+                    .uri(uriBuilder -> uriBuilder
+                            .path("/tasks/search")
+                            .queryParam("q", "documentation")
+                            .queryParam("size", 1)
+                            .queryParam("cursor", cursor)
+                            .build())
+                    .exchange();
+
+            //then
+            response.expectStatus().isOk()
+                    .expectBodyList(TaskSearchResultDto.class)
+                    .hasSize(1)
+                    .consumeWith(result -> {
+                        List<TaskSearchResultDto> results = result.getResponseBody();
+                        assert results != null;
+                        Assertions.assertEquals("Fix login", results.get(0).getTask().getTitle());
+                    });
+
+        }
+
+    }
+
+    @Nested
+    @DisplayName("Test Get /tasks/export")
+    @TestInstance(TestInstance.Lifecycle.PER_CLASS)
+    class ExportTest {
+
+        @BeforeAll
+        void setupAll() {
+            taskRepository.deleteAll().block();
+            taskRepository.saveAll(List.of(
+                    Task.builder().title("Export 1").description("with, comma").status(TaskStatus.TODO).build(),
+                    Task.builder().title("Export 2").description("with \"quotes\"").status(TaskStatus.DONE).build(),
+                    Task.builder().title("Export 3").status(TaskStatus.TODO).build()
+            )).collectList().block();
+        }
+
+        @Test
+        @DisplayName("should export matching tasks as NDJSON")
+        void export_ndjson_succeed() {
+
+            //given
+            var status = TaskStatus.TODO;
+
+            //when
+            var response = webTestClient.get()
+                    .uri(uriBuilder -> uriBuilder
+                            .path("/tasks/export")
+                            .queryParam("status", status)
+                            .build())
+                    .exchange();
+
+            //then
+            response.expectStatus().isOk()
+                    .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                    .expectBodyList(TaskDto.class)
+                    .hasSize(2)
+                    .consumeWith(result -> {
+                        List<TaskDto> taskList = result.getResponseBody();
+                        assert taskList != null;
+                        assert taskList.stream().allMatch(t -> t.getStatus().name().equals(status.name()));
+                    });
+
+        }
+
+        @Test
+        @DisplayName("should export all tasks as CSV")
+        void export_csv_succeed() {
+
+            //when
+            var response = webTestClient.get()
+                    .uri(uriBuilder -> uriBuilder
+                            .path("/tasks/export")
+                            .queryParam("format", "csv")
+                            .build())
+                    .exchange();
+
+            //then
+            response.expectStatus().isOk()
+                    .expectHeader().contentTypeCompatibleWith(MediaType.parseMediaType("text/csv"))
+                    .expectBody(String.class)
+                    .value(csv -> {
+                        var lines = csv.split("\r\n");
+                        Assertions.assertEquals(4, lines.length);
+                        Assertions.assertTrue(lines[0].startsWith("id,title,description,status"));
+                        Assertions.assertTrue(csv.contains("\"with, comma\""));
+                        Assertions.assertTrue(csv.contains("\"with \"\"quotes\"\"\""));
+                    });
+
+        }
+
+        @Test
+        @DisplayName("should reject an unknown format")
+        void export_validation_error() {
+
+            //when
+            var response = webTestClient.get()
+                    .uri(uriBuilder -> uriBuilder
+                            .path("/tasks/export")
+                            .queryParam("format", "xml")
+                            .build())
+                    .exchange();
+
+            //then
+            response.expectStatus().isBadRequest();
+
+        }
+
+    }
+
+    @Nested
+    @DisplayName("Test task outbox")
+    class OutboxTest {
+
+        @Test
+        @DisplayName("should relay the creation and deletion of a task")
+        void outbox_succeed() {
+
+            //given
+            var taskId = Objects.requireNonNull(webTestClient.post()
+                            .uri("/tasks")
+                            .bodyValue(TaskCreateRequestDto.builder().title("Outbox task").ownerId(UUID.randomUUID()).build())
+                            .exchange()
+                            .expectStatus().isCreated()
+                            .expectBody(TaskDto.class)
+                            .returnResult()
+                            .getResponseBody())
+                    .getId();
+
+            //when
+            webTestClient.delete()
+                    .uri("/tasks/{id}", taskId)
+                    .exchange()
+                    .expectStatus().isNoContent();
+
+            //then
+            Awaitility.await()
+                    .atMost(Duration.ofSeconds(5))
+                    .untilAsserted(() -> {
+                        var events = taskOutboxSink.getEvents().stream()
+                                .filter(event -> event.getTaskId().equals(taskId))
+                                .toList();
+                        Assertions.assertEquals(List.of(TaskChangeType.CREATED, TaskChangeType.DELETED),
+                                events.stream().map(TaskOutboxEvent::getType).toList());
+                        Assertions.assertTrue(events.get(0).getTask().contains("\"title\": \"Outbox task\""));
+                        Assertions.assertTrue(events.get(0).getTask().contains("\"status\": \"TODO\""));
+                        Assertions.assertTrue(events.get(0).getId() < events.get(1).getId());
+                    });
+
+        }
+
+        @Test
+        @DisplayName("should publish every event once when relays run concurrently")
+        void outbox_concurrent_relays_succeed() {
+
+            //given
+            var taskIds = databaseClient.sql("""
+                            INSERT INTO task (title, status, creation_date)
+                            SELECT 'Relayed task ' || i, 0, now() FROM generate_series(1, 2000) i
+                            RETURNING id""")
+                    .map(row -> row.get("id", UUID.class))
+                    .all()
+                    .collect(Collectors.toSet())
+                    .block();
+            assert taskIds != null;
+
+            //when
+            Flux.merge(taskOutboxRelay.relay().subscribeOn(Schedulers.parallel()),
+                            taskOutboxRelay.relay().subscribeOn(Schedulers.parallel()))
+                    .blockLast();
+
+            //then
+            Awaitility.await()
+                    .atMost(Duration.ofSeconds(5))
+                    .untilAsserted(() -> Assertions.assertEquals(taskIds.size(), taskOutboxSink.getEvents().stream()
+                            .filter(event -> taskIds.contains(event.getTaskId()))
+                            .count()));
+            var events = taskOutboxSink.getEvents();
+            Assertions.assertEquals(events.size(), events.stream().map(TaskOutboxEvent::getId).distinct().count());
+
+        }
+
+    }
+
+    @Nested
+    @DisplayName("Test Get /tasks/{id}/history")
+    @TestInstance(TestInstance.Lifecycle.PER_CLASS)
+    class HistoryTest {
+
+        @Test
+        @DisplayName("should page through the changed fields of every change of a task")
+        void history_succeed() {
+
+            //given
+            var ownerId = UUID.randomUUID();
+            var assigneeId = UUID.randomUUID();
+            var taskId = Objects.requireNonNull(webTestClient.post()
+                            .uri("/tasks")
+                            .bodyValue(TaskCreateRequestDto.builder().title("History task").ownerId(ownerId).build())
+                            .exchange()
+                            .expectStatus().isCreated()
+                            .expectBody(TaskDto.class)
+                            .returnResult()
+                            .getResponseBody())
+                    .getId();
+            webTestClient.put()
+                    .uri("/tasks/{id}", taskId)
+                    .bodyValue(TaskUpdateRequestDto.builder()
+                            .title("History task")
+                            .status(com.task.management.dto.TaskStatus.IN_PROGRESS)
+                            .assigneeId(assigneeId)
+                            .build())
+                    .exchange()
+                    .expectStatus().isOk();
+            webTestClient.put()
+                    .uri("/tasks/{id}", taskId)
+                    .bodyValue(TaskUpdateRequestDto.builder().status(com.task.management.dto.TaskStatus.CANCELLED).build())
+                    .exchange()
+                    .expectStatus().isOk();
+            webTestClient.delete()
+                    .uri("/tasks/{id}", taskId)
+                    .exchange()
+                    .expectStatus().isNoContent();
+            var firstPage = webTestClient.get()
+                    .uri(uriBuilder -> uriBuilder
+                            .path("/tasks/{id}/history")
+                            .queryParam("size", 2)
+                            .build(taskId))
+                    .exchange()
+                    .expectStatus().isOk()
+                    .expectHeader().exists(TaskConstants.NEXT_CURSOR_HEADER)
+                    .expectBodyList(TaskEventDto.class)
+                    .returnResult();
+            var cursor = firstPage.getResponseHeaders().getFirst(TaskConstants.NEXT_CURSOR_HEADER);
+
+            //when
+            var response = webTestClient.get()
+                    .uri(uriBuilder -> uriBuilder
+                            .path("/tasks/{id}/history")
+                            .queryParam("size", 2)
+                            .queryParam("cursor", cursor)
+                            .build(taskId))
+                    .exchange();
+
+            //then
+            var created = Objects.requireNonNull(firstPage.getResponseBody()).get(0);
+            var assigned = firstPage.getResponseBody().get(1);
+            Assertions.assertEquals(TaskEventDto.TypeEnum.CREATED, created.getType());
+            Assertions.assertEquals(Map.of("title", "History task", "status", "TODO", "ownerId", ownerId.toString()),
+                    created.getChanges());
+            Assertions.assertEquals(TaskEventDto.TypeEnum.UPDATED, assigned.getType());
+            Assertions.assertEquals(Map.of("status", "IN_PROGRESS", "assigneeId", assigneeId.toString()),
+                    assigned.getChanges());
+            response.expectStatus().isOk()
+                    .expectBodyList(TaskEventDto.class)
+                    .consumeWith(result -> {
+                        var events = Objects.requireNonNull(result.getResponseBody());
+                        Assertions.assertEquals(List.of(TaskEventDto.TypeEnum.UPDATED, TaskEventDto.TypeEnum.DELETED),
+                                events.stream().map(TaskEventDto::getType).toList());
+                        Assertions.assertEquals(Map.of("status", "CANCELLED"), events.get(0).getChanges());
+                        var deletionChanges = events.get(1).getChanges();
+                        Assertions.assertTrue(deletionChanges == null || deletionChanges.isEmpty());
+                        Assertions.assertEquals(assigned.getVersion() + 1, events.get(1).getVersion());
+                    });
+
+        }
+
+        @Test
+        @DisplayName("should only drop history partitions of months past the retention")
+        void history_partitions_succeed() {
+
+            //when
+            var dropped = taskRepository.createEventPartitions(2)
+                    .then(taskRepository.dropEventPartitions(0));
+
+            //then
+            StepVerifier.create(dropped)
+                    .expectNext(0)
+                    .verifyComplete();
+
+        }
+
+        @Test
+        @DisplayName("should detach and drop an expired history partition holding events")
+        void history_expired_partition_dropped() {
+
+            //given
+            var taskId = UUID.randomUUID();
+            databaseClient.sql("SELECT create_task_event_partition((date_trunc('month', now()) - INTERVAL '3 months')::DATE)")
+                    .then()
+                    .then(databaseClient.sql("INSERT INTO task_event (task_id, event_time, operation)"
+                                    + " VALUES (:taskId, date_trunc('month', now()) - INTERVAL '3 months', 'INSERT')")
+                            .bind("taskId", taskId)
+                            .then())
+                    .block();
+
+            //when
+            var dropped = taskRepository.dropEventPartitions(1);
+
+            //then
+            StepVerifier.create(dropped)
+                    .expectNext(1)
+                    .verifyComplete();
+            var remaining = databaseClient.sql("SELECT COUNT(*) AS remaining FROM task_event WHERE task_id = :taskId")
+                    .bind("taskId", taskId)
+                    .map(row -> row.get("remaining", Long.class))
+                    .one()
+                    .block();
+            Assertions.assertEquals(0L, remaining);
+
+        }
+
+        @Test
+        @DisplayName("should keep the events of a month when its partition is created again")
+        void history_existing_partition_kept() {
+
+            //given
+            var taskId = Objects.requireNonNull(webTestClient.post()
+                            .uri("/tasks")
+                            .bodyValue(TaskCreateRequestDto.builder().title("Partitioned task").ownerId(UUID.randomUUID()).build())
+                            .exchange()
+                            .expectStatus().isCreated()
+                            .expectBody(TaskDto.class)
+                            .returnResult()
+                            .getResponseBody())
+                    .getId();
+
+            //when
+            databaseClient.sql("SELECT create_task_event_partition(now()::DATE)")
+                    .then()
+                    .block();
+
+            //then
+            webTestClient.get()
+                    .uri("/tasks/{id}/history", taskId)
+                    .exchange()
+                    .expectStatus().isOk()
+                    .expectBodyList(TaskEventDto.class)
+                    .hasSize(1);
+
+        }
+
+        @Test
+        @DisplayName("should reject a malformed cursor")
+        void history_fail_with_invalid_cursor() {
+
+            //when
+            var response = webTestClient.get()
+                    .uri(uriBuilder -> uriBuilder
+                            .path("/tasks/{id}/history")
+                            .queryParam("cursor", "not-a-cursor")
+                            .build(UUID.randomUUID()))
                     .exchange();
 
             //then
-            response.expectStatus().isOk()
-                    .expectBody(TaskDto.class)
-                    .consumeWith(result -> {
-                        TaskDto taskDto = result.getResponseBody();
-                        assert taskDto != null;
-                        assert taskDto.getTitle().equals("Task 1");
-                        assert taskDto.getDescription().equals("description");
-                        assert taskDto.getStatus().name().equals(TaskStatus.DONE.name());
-                    });
+            response.expectStatus().isBadRequest();
 
         }
 
+    }
+
+    @Nested
+    @DisplayName("Test Get /tasks/stream")
+    @TestInstance(TestInstance.Lifecycle.PER_CLASS)
+    class StreamTest {
+
         @Test
-        @DisplayName("should throw TaskNotFoundException")
-        void test_getById_throw_not_found() {
+        @DisplayName("should stream the changes of the requested owner")
+        void stream_succeed() {
+
             //given
-            Task task = Task.builder()
+            var ownerId = UUID.randomUUID();
+            var task = Task.builder()
                     .title("Task 1")
-                    .description("description")
-                    .status(TaskStatus.DONE)
+                    .ownerId(ownerId)
+                    .status(TaskStatus.TODO)
                     .build();
-            taskRepository.save(task).block();
-            var nonExistingTaskId = UUID.randomUUID();
+            Mono.delay(Duration.ofMillis(500))
+                    .then(taskRepository.save(Task.builder().title("Other").ownerId(UUID.randomUUID()).status(TaskStatus.TODO).build()))
+                    .then(taskRepository.save(task))
+                    .flatMap(saved -> taskRepository.save(saved.toBuilder().status(TaskStatus.CANCELLED).build()))
+                    .subscribe();
 
             //when
-            var response = webTestClient.get()
+            var events = webTestClient.get()
                     .uri(uriBuilder -> uriBuilder
-                            .path("/tasks/{id}")
-                            .build(nonExistingTaskId.toString()))
-                    .exchange();
+                            .path("/tasks/stream")
+                            .queryParam("ownerId", ownerId)
+                            .build())
+                    .accept(MediaType.TEXT_EVENT_STREAM)
+                    .exchange()
+                    .expectStatus().isOk()
+                    .returnResult(new ParameterizedTypeReference<ServerSentEvent<TaskChangeEventDto>>() {})
+                    .getResponseBody();
 
             //then
-            response.expectStatus().isNotFound()
-                    .expectBody(String.class)
-                    .consumeWith(result -> {
-                        String errorResponse = result.getResponseBody();
-                        assert errorResponse != null &&
-                                errorResponse.contains("not found with id:{%s}".formatted(nonExistingTaskId.toString()));
-                    });
+            StepVerifier.create(events)
+                    .expectNextMatches(event -> "CREATED".equals(event.event()) &&
+                            Objects.requireNonNull(event.data()).getOwnerId().equals(ownerId))
+                    .expectNextMatches(event -> "UPDATED".equals(event.event()) &&
+                            Objects.requireNonNull(event.data()).getStatus() == com.task.management.dto.TaskStatus.CANCELLED)
+                    .thenCancel()
+                    .verify(Duration.ofSeconds(5));
 
         }
 
+    }
+
+    @Nested
+    @DisplayName("Test Get /actuator/prometheus")
+    @TestInstance(TestInstance.Lifecycle.PER_CLASS)
+    class MetricsTest {
+
         @Test
-        @DisplayName("should throw TaskNotFoundException")
-        void test_getById_validation_error() {
+        @DisplayName("should expose timers per operation and counters per exception")
+        void metrics_succeed() {
+
             //given
-            var invalidTaskId = "invalidTaskId";
-            //when
-            var response = webTestClient.get()
+            webTestClient.get()
                     .uri(uriBuilder -> uriBuilder
                             .path("/tasks/{id}")
-                            .build(invalidTaskId))
+                            .build(UUID.randomUUID().toString()))
+                    .exchange()
+                    .expectStatus().isNotFound();
+
+            //when
+            var response = webTestClient.get()
+                    .uri("/actuator/prometheus")
                     .exchange();
 
             //then
-            response.expectStatus().isBadRequest()
+            response.expectStatus().isOk()
                     .expectBody(String.class)
-                    .consumeWith(result -> {
-                        String errorResponse = result.getResponseBody();
-                        assert errorResponse != null &&
-                                errorResponse.contains("Type mismatch.");
+                    .value(metrics -> {
+                        Assertions.assertTrue(metrics.contains("operation=\"getTaskById\""));
+                        Assertions.assertTrue(metrics.contains("task_management_errors_total{"));
+                        Assertions.assertTrue(metrics.contains("exception=\"TaskNotFoundException\""));
+                        Assertions.assertTrue(metrics.contains("spring_data_repository_invocations_seconds"));
+                        Assertions.assertTrue(metrics.contains("r2dbc_pool_max_allocated_connections{"));
+                        Assertions.assertTrue(metrics.contains("name=\"task-export\""));
                     });
 
         }
 
+    }
+
+    @Nested
+    @DisplayName("Test an exhausted connection pool")
+    @TestInstance(TestInstance.Lifecycle.PER_CLASS)
+    class PoolExhaustionTest {
+
+        @Autowired
+        private ConnectionPool connectionPool;
+
+        @Test
+        @DisplayName("should reject requests with 503 and Retry-After while no connection is available")
+        void pool_exhausted_fail() {
+
+            //given
+            var heldConnections = Mono.justOrEmpty(connectionPool.getMetrics())
+                    .flatMapMany(metrics -> Flux.range(0, metrics.getMaxAllocatedSize() - metrics.acquiredSize()))
+                    .flatMap(i -> Mono.from(connectionPool.create()))
+                    .collectList()
+                    .block();
+
+            try {
+                //when
+                var response = webTestClient.get()
+                        .uri("/tasks")
+                        .exchange();
+
+                //then
+                response.expectStatus().isEqualTo(HttpStatus.SERVICE_UNAVAILABLE)
+                        .expectHeader().valueEquals(HttpHeaders.RETRY_AFTER, "1");
+            } finally {
+                Flux.fromIterable(Objects.requireNonNull(heldConnections))
+                        .flatMap(Connection::close)
+                        .blockLast();
+            }
+
+        }
 
     }
 
     @Nested
-    @DisplayName("Test post /tasks")
+    @DisplayName("Test post /tasks/batch")
     @TestInstance(TestInstance.Lifecycle.PER_CLASS)
-    class PostTest {
+    class PostBatchTest {
 
         @BeforeEach
         void setup() {
@@ -320,103 +1705,130 @@ public class TaskControllerIntegrationTest extends IntegrationTest {
         }
 
         @Test
-        @DisplayName("should create a task with status 'TODO'")
-        void post_succeed() {
+        @DisplayName("should create all tasks in request order")
+        void post_batch_succeed() {
 
             //given
             var ownerId = UUID.randomUUID();
-            var assigneeId = UUID.randomUUID();
-            var taskCreateRequest = TaskCreateRequestDto.builder()
-                    .description("description")
-                    .title("title")
-                    .ownerId(ownerId)
-                    .assigneeId(assigneeId)
-                    .build();
+            var taskCreateRequests = List.of(
+                    TaskCreateRequestDto.builder().title("title 1").ownerId(ownerId).build(),
+                    TaskCreateRequestDto.builder().title("title 2").ownerId(ownerId).description("description").build(),
+                    TaskCreateRequestDto.builder().title("title 3").ownerId(ownerId).assigneeId(UUID.randomUUID()).build());
 
             //when
             var response = webTestClient.post()
-                    .uri("/tasks")
-                    .body(Mono.just(taskCreateRequest), TaskCreateRequestDto.class)
+                    .uri("/tasks/batch")
+                    .bodyValue(taskCreateRequests)
                     .exchange();
 
             //then
             response.expectStatus().isCreated()
-                    .expectBody(TaskDto.class)
+                    .expectBodyList(TaskBatchItemDto.class)
+                    .hasSize(taskCreateRequests.size())
                     .consumeWith(result -> {
-                        TaskDto taskDto = result.getResponseBody();
-                        assert taskDto != null;
-                        assert taskDto.getTitle().equals("title");
-                        assert taskDto.getDescription().equals("description");
-                        assert taskDto.getOwnerId().equals(ownerId);
-                        assert taskDto.getAssigneeId().equals(assigneeId);
-                        assert taskDto.getStatus().name().equals(TaskStatus.TODO.name());
-                        assert taskDto.getCreationDate() != null;
+                        List<TaskBatchItemDto> items = result.getResponseBody();
+                        assert items != null;
+                        for (int i = 0; i < items.size(); i++) {
+                            assert items.get(i).getIndex() == i;
+                            assert items.get(i).getTask().getTitle().equals(taskCreateRequests.get(i).getTitle());
+                            assert items.get(i).getTask().getStatus().name().equals(TaskStatus.TODO.name());
+                            assert items.get(i).getTask().getId() != null;
+                        }
                     });
+            Assertions.assertEquals(taskCreateRequests.size(), taskRepository.count().block());
 
         }
 
         @Test
-        @DisplayName("should throw exception")
-        void post_throw_exception() {
+        @DisplayName("should replay a batch for a repeated Idempotency-Key")
+        void post_batch_idempotent_replay() {
 
             //given
-            var invalidRequestBody = Mono.empty();
+            var idempotencyKey = UUID.randomUUID().toString();
+            var ownerId = UUID.randomUUID();
+            var taskCreateRequests = List.of(
+                    TaskCreateRequestDto.builder().title("title 1").ownerId(ownerId).build(),
+                    TaskCreateRequestDto.builder().title("title 2").ownerId(ownerId).build());
+            var firstItems = webTestClient.post()
+                    .uri("/tasks/batch")
+                    .header("Idempotency-Key", idempotencyKey)
+                    .bodyValue(taskCreateRequests)
+                    .exchange()
+                    .expectStatus().isCreated()
+                    .expectBodyList(TaskBatchItemDto.class)
+                    .returnResult()
+                    .getResponseBody();
 
             //when
             var response = webTestClient.post()
-                    .uri("/tasks")
-                    .body(invalidRequestBody, TaskCreateRequestDto.class)
+                    .uri("/tasks/batch")
+                    .header("Idempotency-Key", idempotencyKey)
+                    .bodyValue(taskCreateRequests)
                     .exchange();
 
             //then
-            response.expectStatus().isEqualTo(HttpStatus.UNSUPPORTED_MEDIA_TYPE)
-                    .expectBody(String.class)
+            assert firstItems != null;
+            response.expectStatus().isCreated()
+                    .expectBodyList(TaskBatchItemDto.class)
+                    .hasSize(firstItems.size())
                     .consumeWith(result -> {
-                        String errorResponse = result.getResponseBody();
-                        assert errorResponse != null;
-                        assert errorResponse.contains("not supported");
+                        List<TaskBatchItemDto> items = result.getResponseBody();
+                        assert items != null;
+                        for (int i = 0; i < items.size(); i++) {
+                            assert items.get(i).getIndex() == i;
+                            assert items.get(i).getTask().getId().equals(firstItems.get(i).getTask().getId());
+                        }
                     });
+            Assertions.assertEquals(taskCreateRequests.size(), taskRepository.count().block());
 
         }
 
-        @ParameterizedTest(name = "Invalid params: title={0}, ownerId={1}, errorMessage={2}")
-        @MethodSource("argumentProvider")
-        @DisplayName("should throw validation exception")
-        void post_validation_error(String title, UUID ownerId, String errorMessage) {
+        @Test
+        @DisplayName("should not create any task when one item is invalid")
+        void post_batch_validation_error() {
 
             //given
-            var assigneeId = UUID.randomUUID();
-            var taskCreateRequest = TaskCreateRequestDto.builder()
-                    .description("description")
-                    .title(title)
-                    .ownerId(ownerId)
-                    .assigneeId(assigneeId)
-                    .build();
+            var taskCreateRequests = List.of(
+                    TaskCreateRequestDto.builder().title("title 1").ownerId(UUID.randomUUID()).build(),
+                    TaskCreateRequestDto.builder().title("title 2").build());
 
             //when
             var response = webTestClient.post()
-                    .uri("/tasks")
-                    .body(Mono.just(taskCreateRequest), TaskCreateRequestDto.class)
+                    .uri("/tasks/batch")
+                    .bodyValue(taskCreateRequests)
                     .exchange();
 
             //then
-            response.expectStatus().isBadRequest()
-                    .expectBody(String.class)
-                    .consumeWith(result -> {
-                        String errorResponse  = result.getResponseBody();
-                        assert errorResponse != null;
-                        assert errorResponse.contains(errorMessage);
-                    });
+            response.expectStatus().isBadRequest();
+            Assertions.assertEquals(0, taskRepository.count().block());
 
         }
 
-        public Stream<Arguments> argumentProvider() {
+        @Test
+        @DisplayName("should answer with an error and create nothing when an item after the first chunk is invalid")
+        void post_batch_validation_error_after_first_chunk() {
+
+            //given
+            var ownerId = UUID.randomUUID();
+            var chunkSize = new TaskManagementProperties().getBatch().getChunkSize();
+            var taskCreateRequests = new ArrayList<TaskCreateRequestDto>();
+            for (int i = 0; i < chunkSize + 10; i++) {
+                taskCreateRequests.add(TaskCreateRequestDto.builder().title("title " + i).ownerId(ownerId).build());
+            }
+            taskCreateRequests.add(TaskCreateRequestDto.builder().title("invalid").build());
+
+            //when
+            var response = webTestClient.post()
+                    .uri("/tasks/batch")
+                    .bodyValue(taskCreateRequests)
+                    .exchange();
+
+            //then
+            response.expectStatus().isBadRequest()
+                    .expectBody(String.class)
+                    .value(body -> Assertions.assertFalse(body.contains("\"index\"")));
+            Assertions.assertEquals(0, taskRepository.count().block());
 
-            return Stream.of(
-                    Arguments.of("title", null, "[Field 'ownerId': must not be null]"),
-                    Arguments.of(null, UUID.randomUUID(),  "[Field 'title': must not be null]"),
-                    Arguments.of("", UUID.randomUUID(), "size must be between 1 and 2147483647")
-            );
         }
 
     }
@@ -574,6 +1986,52 @@ public class TaskControllerIntegrationTest extends IntegrationTest {
 
         }
 
+        @Test
+        @DisplayName("should reject an update with an outdated If-Match")
+        void put_precondition_failed() {
+
+            //given
+            var task = taskRepository.save(Task.builder()
+                    .title("title")
+                    .ownerId(UUID.randomUUID())
+                    .status(TaskStatus.TODO)
+                    .build()).block();
+            var updateRequestDto = TaskUpdateRequestDto.builder()
+                    .title("first update")
+                    .build();
+            var eTag = webTestClient.put()
+                    .uri(uriBuilder -> uriBuilder
+                            .path("/tasks/{id}")
+                            .build(task.getId()))
+                    .header(HttpHeaders.IF_MATCH, "\"0\"")
+                    .body(Mono.just(updateRequestDto), TaskUpdateRequestDto.class)
+                    .exchange()
+                    .expectStatus().isOk()
+                    .returnResult(TaskDto.class)
+                    .getResponseHeaders()
+                    .getETag();
+            Assertions.assertEquals("\"1\"", eTag);
+
+            //when
+            var response = webTestClient.put()
+                    .uri(uriBuilder -> uriBuilder
+                            .path("/tasks/{id}")
+                            .build(task.getId()))
+                    .header(HttpHeaders.IF_MATCH, "\"0\"")
+                    .body(Mono.just(updateRequestDto), TaskUpdateRequestDto.class)
+                    .exchange();
+
+            //then
+            response.expectStatus().isEqualTo(HttpStatus.PRECONDITION_FAILED)
+                    .expectBody(String.class)
+                    .consumeWith(result -> {
+                        String errorResponse = result.getResponseBody();
+                        assert errorResponse != null;
+                        assert errorResponse.contains("modified concurrently");
+                    });
+
+        }
+
         @Test
         @DisplayName("should keep current values")
         void put_keep_current_values() {
@@ -710,6 +2168,78 @@ public class TaskControllerIntegrationTest extends IntegrationTest {
 
     }
 
+    @Nested
+    @DisplayName("Test patch /tasks/{id}/status")
+    class QueueUpdateTest {
+
+        @BeforeEach
+        void setup() {
+            taskRepository.deleteAll().block();
+        }
+
+        @Test
+        @DisplayName("should accept a change and write it in a later batch")
+        void queue_update_succeed() {
+
+            //given
+            var assigneeId = UUID.randomUUID();
+            var taskId = Objects.requireNonNull(taskRepository.save(Task.builder()
+                            .title("Task 1")
+                            .status(TaskStatus.TODO)
+                            .build()).block())
+                    .getId();
+
+            //when
+            var first = webTestClient.patch()
+                    .uri("/tasks/{id}/status", taskId)
+                    .bodyValue(TaskQueuedUpdateRequestDto.builder()
+                            .status(com.task.management.dto.TaskStatus.IN_PROGRESS)
+                            .assigneeId(assigneeId)
+                            .build())
+                    .exchange();
+            var second = webTestClient.patch()
+                    .uri("/tasks/{id}/status", taskId)
+                    .bodyValue(TaskQueuedUpdateRequestDto.builder()
+                            .status(com.task.management.dto.TaskStatus.DONE)
+                            .build())
+                    .exchange();
+
+            //then
+            first.expectStatus().isAccepted();
+            second.expectStatus().isAccepted();
+            Awaitility.await()
+                    .atMost(Duration.ofSeconds(5))
+                    .untilAsserted(() -> {
+                        var task = taskRepository.findById(taskId).block();
+                        assert task != null;
+                        Assertions.assertEquals(TaskStatus.DONE, task.getStatus());
+                        Assertions.assertEquals(assigneeId, task.getAssigneeId());
+                    });
+
+        }
+
+        @Test
+        @DisplayName("should reject a change without status and assignee")
+        void queue_update_validation_error() {
+
+            //when
+            var response = webTestClient.patch()
+                    .uri("/tasks/{id}/status", UUID.randomUUID())
+                    .bodyValue(TaskQueuedUpdateRequestDto.builder().build())
+                    .exchange();
+
+            //then
+            response.expectStatus().isBadRequest()
+                    .expectBody(String.class)
+                    .consumeWith(result -> {
+                        String errorMessage = result.getResponseBody();
+                        assert errorMessage != null && errorMessage.contains("Either status or assigneeId must be given");
+                    });
+
+        }
+
+    }
+
     @Nested
     @DisplayName("Test delete /tasks/{id}")
     @TestInstance(TestInstance.Lifecycle.PER_CLASS)
@@ -800,6 +2330,67 @@ public class TaskControllerIntegrationTest extends IntegrationTest {
 
         }
 
+        @Test
+        @DisplayName("should delete old cancelled tasks and return their ids")
+        void delete_bulk_succeed() {
+
+            //given
+            var oldCancelledTask = taskRepository.save(Task.builder()
+                    .title("old cancelled")
+                    .creationDate(ZonedDateTime.now().minusDays(10))
+                    .status(TaskStatus.CANCELLED)
+                    .build()).block();
+            var recentCancelledTask = taskRepository.save(Task.builder()
+                    .title("recent cancelled")
+                    .creationDate(ZonedDateTime.now())
+                    .status(TaskStatus.CANCELLED)
+                    .build()).block();
+            var oldDoneTask = taskRepository.save(Task.builder()
+                    .title("old done")
+                    .creationDate(ZonedDateTime.now().minusDays(10))
+                    .status(TaskStatus.DONE)
+                    .build()).block();
+
+            //when
+            var response = webTestClient.delete()
+                    .uri(uriBuilder -> uriBuilder.path("/tasks")
+                            .queryParam("status", "CANCELLED")
+                            .queryParam("olderThan", Instant.now().minus(Duration.ofDays(1)).toString())
+                            .build())
+                    .exchange();
+
+            //then
+            response.expectStatus().isOk()
+                    .expectBodyList(UUID.class)
+                    .hasSize(1)
+                    .contains(oldCancelledTask.getId());
+            Assertions.assertTrue(taskRepository.existsById(recentCancelledTask.getId()).block());
+            Assertions.assertTrue(taskRepository.existsById(oldDoneTask.getId()).block());
+
+        }
+
+        @Test
+        @DisplayName("should reject bulk deletion of a status that is not removable")
+        void delete_bulk_validation_error() {
+
+            //when
+            var response = webTestClient.delete()
+                    .uri(uriBuilder -> uriBuilder.path("/tasks")
+                            .queryParam("status", "DONE")
+                            .build())
+                    .exchange();
+
+            //then
+            response.expectStatus().isBadRequest()
+                    .expectBody(String.class)
+                    .consumeWith(result -> {
+                        var errorMessage = result.getResponseBody();
+                        assert errorMessage != null;
+                        assert errorMessage.contains("are not valid for deletion");
+                    });
+
+        }
+
         public Stream<Arguments> invalidTaskStatusProvider() {
             return Stream.of(
                     Arguments.of(TaskStatus.IN_PROGRESS),
@@ -0,0 +1,44 @@
+package com.task.management.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.task.management.model.TaskChangeType;
+import com.task.management.model.TaskOutboxEvent;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.test.StepVerifier;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.UUID;
+
+public class LoggingTaskOutboxSinkUnitTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    @Test
+    @DisplayName("should write each event with the task embedded as JSON")
+    void publish_should_succeed() throws Exception {
+
+        //given
+        var event = TaskOutboxEvent.builder()
+                .id(1)
+                .type(TaskChangeType.CREATED)
+                .taskId(UUID.randomUUID())
+                .createdAt(ZonedDateTime.now())
+                .task("{\"title\":\"title\"}")
+                .build();
+
+        //when
+        var result = new LoggingTaskOutboxSink(objectMapper).publish(List.of(event));
+
+        //then
+        StepVerifier.create(result)
+                .verifyComplete();
+        Assertions.assertEquals("title", objectMapper.readTree(objectMapper.writeValueAsString(event))
+                .get("task").get("title").asText());
+
+    }
+
+}
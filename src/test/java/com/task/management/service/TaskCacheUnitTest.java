@@ -0,0 +1,100 @@
+package com.task.management.service;
+
+import com.task.management.config.TaskManagementProperties;
+import com.task.management.model.Task;
+import com.task.management.model.TaskStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class TaskCacheUnitTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private TaskCache taskCache;
+
+    @BeforeEach
+    void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        taskCache = new TaskCache(new TaskManagementProperties(), meterRegistry);
+    }
+
+    @Test
+    @DisplayName("should share one load between concurrent misses for the same id")
+    void get_should_collapse_concurrent_misses() {
+
+        //given
+        var taskId = UUID.randomUUID();
+        var loads = new AtomicInteger();
+        var pendingLoad = Sinks.<Task>one();
+
+        //when
+        var first = taskCache.get(taskId, id -> {
+            loads.incrementAndGet();
+            return pendingLoad.asMono();
+        }).toFuture();
+        var second = taskCache.get(taskId, id -> {
+            loads.incrementAndGet();
+            return pendingLoad.asMono();
+        }).toFuture();
+        pendingLoad.tryEmitValue(Task.builder().id(taskId).status(TaskStatus.TODO).build());
+
+        //then
+        Assertions.assertEquals(taskId, first.join().getId());
+        Assertions.assertEquals(taskId, second.join().getId());
+        Assertions.assertEquals(1, loads.get());
+
+    }
+
+    @Test
+    @DisplayName("should load again after invalidation")
+    void invalidate_should_evict() {
+
+        //given
+        var taskId = UUID.randomUUID();
+        var loads = new AtomicInteger();
+        taskCache.get(taskId, id -> {
+            loads.incrementAndGet();
+            return Mono.just(Task.builder().id(id).build());
+        }).block();
+
+        //when
+        taskCache.invalidate(taskId);
+        var result = taskCache.get(taskId, id -> {
+            loads.incrementAndGet();
+            return Mono.just(Task.builder().id(id).build());
+        });
+
+        //then
+        StepVerifier.create(result)
+                .expectNextMatches(task -> task.getId().equals(taskId))
+                .verifyComplete();
+        Assertions.assertEquals(2, loads.get());
+
+    }
+
+    @Test
+    @DisplayName("should not cache missing tasks and publish hit and miss counters")
+    void get_should_not_cache_empty_results() {
+
+        //given
+        var taskId = UUID.randomUUID();
+
+        //when
+        var result = taskCache.get(taskId, id -> Mono.empty());
+
+        //then
+        StepVerifier.create(result)
+                .verifyComplete();
+        Assertions.assertEquals(1.0, meterRegistry.get("cache.gets").tag("result", "miss").functionCounter().count());
+
+    }
+
+}
@@ -0,0 +1,170 @@
+package com.task.management.service;
+
+import com.task.management.config.TaskManagementProperties;
+import com.task.management.model.TaskChange;
+import com.task.management.model.TaskChangeType;
+import com.task.management.model.TaskStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.test.StepVerifier;
+
+import java.util.UUID;
+
+public class TaskChangeHubUnitTest {
+
+    private TaskManagementProperties properties;
+    private TaskChangeHub taskChangeHub;
+
+    @BeforeEach
+    void setup() {
+        properties = new TaskManagementProperties();
+        properties.getEvents().setReplaySize(3);
+        properties.getEvents().setSubscriberBufferSize(2);
+        taskChangeHub = new TaskChangeHub(properties);
+    }
+
+    @Test
+    @DisplayName("should deliver published changes matching the filter")
+    void changes_should_deliver_matching_changes() {
+
+        //given
+        var ownerId = UUID.randomUUID();
+
+        //when
+        var result = taskChangeHub.changes(change -> ownerId.equals(change.getOwnerId()), null);
+
+        //then
+        StepVerifier.create(result)
+                .then(() -> {
+                    taskChangeHub.publish(change(1, ownerId));
+                    taskChangeHub.publish(change(2, UUID.randomUUID()));
+                    taskChangeHub.publish(change(3, ownerId));
+                })
+                .expectNextMatches(change -> change.getSequence() == 1)
+                .expectNextMatches(change -> change.getSequence() == 3)
+                .thenCancel()
+                .verify();
+
+    }
+
+    @Test
+    @DisplayName("should replay the retained changes after the last received one")
+    void changes_should_replay_after_last_sequence() {
+
+        //given
+        for (long sequence = 1; sequence <= 4; sequence++) {
+            taskChangeHub.publish(change(sequence, UUID.randomUUID()));
+        }
+
+        //when
+        var resumed = taskChangeHub.changes(change -> true, 2L);
+        var unknown = taskChangeHub.changes(change -> true, 99L);
+
+        //then
+        StepVerifier.create(resumed)
+                .expectNextMatches(change -> change.getSequence() == 3)
+                .expectNextMatches(change -> change.getSequence() == 4)
+                .thenCancel()
+                .verify();
+        StepVerifier.create(unknown)
+                .expectNextMatches(change -> change.isGap() && change.getSequence() == 99)
+                .expectNextMatches(change -> change.getSequence() == 2)
+                .expectNextMatches(change -> change.getSequence() == 3)
+                .expectNextMatches(change -> change.getSequence() == 4)
+                .thenCancel()
+                .verify();
+
+    }
+
+    @Test
+    @DisplayName("should drop changes for a subscriber whose buffer is full")
+    void changes_should_drop_for_slow_subscriber() {
+
+        //given
+        var result = taskChangeHub.changes(change -> true, null);
+
+        //when
+        //then
+        StepVerifier.create(result, 0)
+                .then(() -> {
+                    for (long sequence = 1; sequence <= 4; sequence++) {
+                        taskChangeHub.publish(change(sequence, UUID.randomUUID()));
+                    }
+                })
+                .thenRequest(2)
+                .expectNextMatches(change -> change.getSequence() == 1)
+                .expectNextMatches(change -> change.getSequence() == 2)
+                .then(() -> taskChangeHub.publish(change(5, UUID.randomUUID())))
+                .thenRequest(2)
+                .expectNextMatches(change -> change.isGap() && change.getSequence() == 3)
+                .expectNextMatches(change -> change.getSequence() == 5)
+                .thenCancel()
+                .verify();
+
+    }
+
+    @Test
+    @DisplayName("should not mark a gap again for changes dropped behind an unread marker")
+    void changes_should_mark_gap_once() {
+
+        //given
+        var result = taskChangeHub.changes(change -> true, null);
+
+        //when
+        //then
+        StepVerifier.create(result, 0)
+                .then(() -> {
+                    for (long sequence = 1; sequence <= 3; sequence++) {
+                        taskChangeHub.publish(change(sequence, UUID.randomUUID()));
+                    }
+                })
+                .thenRequest(1)
+                .expectNextMatches(change -> change.getSequence() == 1)
+                .then(() -> {
+                    taskChangeHub.publish(change(4, UUID.randomUUID()));
+                    taskChangeHub.publish(change(5, UUID.randomUUID()));
+                })
+                .thenRequest(3)
+                .expectNextMatches(change -> change.getSequence() == 2)
+                .expectNextMatches(change -> change.isGap() && change.getSequence() == 3)
+                .then(() -> taskChangeHub.publish(change(6, UUID.randomUUID())))
+                .expectNextMatches(change -> change.getSequence() == 6)
+                .thenCancel()
+                .verify();
+
+    }
+
+    @Test
+    @DisplayName("should disconnect a slow subscriber when configured to")
+    void changes_should_disconnect_slow_subscriber() {
+
+        //given
+        properties.getEvents().setSlowSubscriberPolicy(TaskManagementProperties.SlowSubscriberPolicy.DISCONNECT);
+        var result = taskChangeHub.changes(change -> true, null);
+
+        //when
+        //then
+        StepVerifier.create(result, 0)
+                .then(() -> {
+                    for (long sequence = 1; sequence <= 4; sequence++) {
+                        taskChangeHub.publish(change(sequence, UUID.randomUUID()));
+                    }
+                })
+                .thenRequest(Long.MAX_VALUE)
+                .expectNextCount(2)
+                .verifyComplete();
+
+    }
+
+    private static TaskChange change(long sequence, UUID ownerId) {
+        return TaskChange.builder()
+                .sequence(sequence)
+                .type(TaskChangeType.UPDATED)
+                .taskId(UUID.randomUUID())
+                .ownerId(ownerId)
+                .status(TaskStatus.IN_PROGRESS)
+                .build();
+    }
+
+}
@@ -0,0 +1,69 @@
+package com.task.management.service;
+
+import com.task.management.config.TaskManagementProperties;
+import com.task.management.repository.TaskRepository;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+@ExtendWith(MockitoExtension.class)
+public class TaskCountFolderUnitTest {
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Spy
+    private TaskManagementProperties properties = new TaskManagementProperties();
+
+    @InjectMocks
+    private TaskCountFolder taskCountFolder;
+
+    @Test
+    @DisplayName("should fold the count deltas at every interval until stopped")
+    void start_should_fold_periodically() {
+
+        //given
+        properties.getStats().setFoldInterval(Duration.ofMillis(10));
+        Mockito.when(taskRepository.foldCountDeltas()).thenReturn(Mono.just(3L));
+
+        //when
+        taskCountFolder.start();
+
+        //then
+        Mockito.verify(taskRepository, Mockito.timeout(1000).atLeast(2)).foldCountDeltas();
+        Assertions.assertTrue(taskCountFolder.isRunning());
+        taskCountFolder.stop();
+        Assertions.assertFalse(taskCountFolder.isRunning());
+
+    }
+
+    @Test
+    @DisplayName("should keep folding after a failed run")
+    void start_should_survive_failures() {
+
+        //given
+        properties.getStats().setFoldInterval(Duration.ofMillis(10));
+        Mockito.when(taskRepository.foldCountDeltas())
+                .thenReturn(Mono.error(new IllegalStateException("down")))
+                .thenReturn(Mono.just(0L));
+
+        //when
+        taskCountFolder.start();
+
+        //then
+        Mockito.verify(taskRepository, Mockito.timeout(1000).atLeast(2)).foldCountDeltas();
+        Assertions.assertTrue(taskCountFolder.isRunning());
+        taskCountFolder.stop();
+
+    }
+
+}
@@ -0,0 +1,85 @@
+package com.task.management.service;
+
+import com.task.management.config.TaskManagementProperties;
+import com.task.management.repository.TaskRepository;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+@ExtendWith(MockitoExtension.class)
+public class TaskEventPartitionMaintainerUnitTest {
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Spy
+    private TaskManagementProperties properties = new TaskManagementProperties();
+
+    @InjectMocks
+    private TaskEventPartitionMaintainer taskEventPartitionMaintainer;
+
+    @Test
+    @DisplayName("should only create partitions ahead when the history is kept forever")
+    void maintain_should_keep_history_without_retention() {
+
+        //given
+        Mockito.when(taskRepository.createEventPartitions(2)).thenReturn(Mono.empty());
+
+        //when
+        var result = taskEventPartitionMaintainer.maintain();
+
+        //then
+        StepVerifier.create(result)
+                .verifyComplete();
+        Mockito.verify(taskRepository, Mockito.never()).dropEventPartitions(Mockito.anyInt());
+
+    }
+
+    @Test
+    @DisplayName("should drop the partitions past the retention after creating the ones ahead")
+    void maintain_should_drop_expired_partitions() {
+
+        //given
+        properties.getHistory().setRetentionMonths(6);
+        Mockito.when(taskRepository.createEventPartitions(2)).thenReturn(Mono.empty());
+        Mockito.when(taskRepository.dropEventPartitions(6)).thenReturn(Mono.just(1));
+
+        //when
+        var result = taskEventPartitionMaintainer.maintain();
+
+        //then
+        StepVerifier.create(result)
+                .verifyComplete();
+        var inOrder = Mockito.inOrder(taskRepository);
+        inOrder.verify(taskRepository).createEventPartitions(2);
+        inOrder.verify(taskRepository).dropEventPartitions(6);
+
+    }
+
+    @Test
+    @DisplayName("should keep maintaining after a failed run until stopped")
+    void start_should_survive_failures() {
+
+        //given
+        Mockito.when(taskRepository.createEventPartitions(2)).thenReturn(Mono.error(new IllegalStateException("down")));
+
+        //when
+        taskEventPartitionMaintainer.start();
+
+        //then
+        Mockito.verify(taskRepository, Mockito.timeout(1000)).createEventPartitions(2);
+        Assertions.assertTrue(taskEventPartitionMaintainer.isRunning());
+        taskEventPartitionMaintainer.stop();
+        Assertions.assertFalse(taskEventPartitionMaintainer.isRunning());
+
+    }
+
+}
@@ -0,0 +1,159 @@
+package com.task.management.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.task.management.config.TaskManagementProperties;
+import com.task.management.exception.IdempotencyKeyReusedException;
+import com.task.management.model.TaskIdempotencyRecord;
+import com.task.management.repository.TaskIdempotencyRepository;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@ExtendWith(MockitoExtension.class)
+public class TaskIdempotencyServiceUnitTest {
+
+    private static final String KEY = "key-1";
+    private static final String OPERATION = "createTask";
+
+    @Mock
+    private TaskIdempotencyRepository taskIdempotencyRepository;
+
+    @Mock
+    private TransactionalOperator transactionalOperator;
+
+    private TaskManagementProperties properties;
+    private TaskIdempotencyService taskIdempotencyService;
+
+    @BeforeEach
+    void setup() {
+        properties = new TaskManagementProperties();
+        taskIdempotencyService = new TaskIdempotencyService(taskIdempotencyRepository, transactionalOperator,
+                new ObjectMapper(), properties);
+    }
+
+    @Test
+    @DisplayName("should run the first request with a key and store its response")
+    void execute_should_store_first_response() throws Exception {
+
+        //given
+        givenTransaction();
+        var runs = new AtomicInteger();
+        Mockito.when(taskIdempotencyRepository.claim(KEY, OPERATION, properties.getIdempotency().getKeyTtl()))
+                .thenReturn(Mono.just(true));
+        Mockito.when(taskIdempotencyRepository.complete(KEY, hash("\"request\""), "\"response\"\n"))
+                .thenReturn(Mono.empty());
+
+        //when
+        var result = taskIdempotencyService.execute(KEY, OPERATION, Mono.just("request"),
+                request -> Mono.fromSupplier(() -> {
+                    runs.incrementAndGet();
+                    return "response";
+                }), String.class);
+
+        //then
+        StepVerifier.create(result)
+                .expectNext("response")
+                .verifyComplete();
+        Assertions.assertEquals(1, runs.get());
+        Mockito.verify(taskIdempotencyRepository).complete(KEY, hash("\"request\""), "\"response\"\n");
+
+    }
+
+    @Test
+    @DisplayName("should replay the stored responses without running a repeated request")
+    void executeMany_should_replay_stored_responses() throws Exception {
+
+        //given
+        givenTransaction();
+        Mockito.when(taskIdempotencyRepository.claim(KEY, OPERATION, properties.getIdempotency().getKeyTtl()))
+                .thenReturn(Mono.just(false));
+        Mockito.when(taskIdempotencyRepository.find(KEY))
+                .thenReturn(Mono.just(TaskIdempotencyRecord.builder()
+                        .operation(OPERATION)
+                        .requestHash(hash("\"a\"\"b\""))
+                        .response("\"A\"\n\"B\"\n")
+                        .build()));
+
+        //when
+        var result = taskIdempotencyService.executeMany(KEY, OPERATION, Flux.just("a", "b"),
+                requests -> Flux.error(new IllegalStateException("must not run")), String.class);
+
+        //then
+        StepVerifier.create(result)
+                .expectNext("A", "B")
+                .verifyComplete();
+        Mockito.verify(taskIdempotencyRepository, Mockito.never()).complete(Mockito.any(), Mockito.any(), Mockito.any());
+
+    }
+
+    @Test
+    @DisplayName("should throw IdempotencyKeyReusedException when a key is reused for another request")
+    void execute_throw_exception() throws Exception {
+
+        //given
+        givenTransaction();
+        Mockito.when(taskIdempotencyRepository.claim(KEY, OPERATION, properties.getIdempotency().getKeyTtl()))
+                .thenReturn(Mono.just(false));
+        Mockito.when(taskIdempotencyRepository.find(KEY))
+                .thenReturn(Mono.just(TaskIdempotencyRecord.builder()
+                        .operation(OPERATION)
+                        .requestHash(hash("\"request\""))
+                        .response("\"response\"\n")
+                        .build()));
+
+        //when
+        var result = taskIdempotencyService.execute(KEY, OPERATION, Mono.just("other request"),
+                Mono::just, String.class);
+
+        //then
+        StepVerifier.create(result)
+                .expectError(IdempotencyKeyReusedException.class)
+                .verify();
+
+    }
+
+    @Test
+    @DisplayName("should purge expired keys while running")
+    void start_should_purge_expired_keys() {
+
+        //given
+        Mockito.when(taskIdempotencyRepository.deleteExpired(properties.getIdempotency().getKeyTtl()))
+                .thenReturn(Mono.just(1L));
+
+        //when
+        taskIdempotencyService.start();
+
+        //then
+        Mockito.verify(taskIdempotencyRepository, Mockito.timeout(1000)).deleteExpired(properties.getIdempotency().getKeyTtl());
+        Assertions.assertTrue(taskIdempotencyService.isRunning());
+        taskIdempotencyService.stop();
+        Assertions.assertFalse(taskIdempotencyService.isRunning());
+
+    }
+
+    @SuppressWarnings("unchecked")
+    private void givenTransaction() {
+        Mockito.when(transactionalOperator.transactional(Mockito.any(Flux.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    private static String hash(String json) throws Exception {
+        var digest = MessageDigest.getInstance("SHA-256");
+        return HexFormat.of().formatHex(digest.digest(json.getBytes(StandardCharsets.UTF_8)));
+    }
+
+}
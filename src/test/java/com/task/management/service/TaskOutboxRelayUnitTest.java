@@ -0,0 +1,129 @@
+package com.task.management.service;
+
+import com.task.management.config.TaskManagementProperties;
+import com.task.management.model.TaskChangeType;
+import com.task.management.model.TaskOutboxEvent;
+import com.task.management.repository.TaskOutboxRepository;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@ExtendWith(MockitoExtension.class)
+public class TaskOutboxRelayUnitTest {
+
+    @Mock
+    private TaskOutboxRepository taskOutboxRepository;
+
+    @Mock
+    private TaskOutboxSink taskOutboxSink;
+
+    @Mock
+    private TransactionalOperator transactionalOperator;
+
+    private final AtomicInteger rolledBack = new AtomicInteger();
+    private TaskOutboxRelay taskOutboxRelay;
+
+    @BeforeEach
+    void setup() {
+        var properties = new TaskManagementProperties();
+        properties.getOutbox().setBatchSize(2);
+        taskOutboxRelay = new TaskOutboxRelay(taskOutboxRepository, taskOutboxSink, transactionalOperator, properties);
+        // like the real operator, an error ending the transactional publisher rolls the transaction back
+        Mockito.when(transactionalOperator.transactional(Mockito.<Mono<Long>>any()))
+                .thenAnswer(invocation -> invocation.<Mono<Long>>getArgument(0)
+                        .doOnError(e -> rolledBack.incrementAndGet()));
+    }
+
+    @Test
+    @DisplayName("should publish and delete batches until one is not full")
+    void relay_should_publish_and_delete_batches() {
+
+        //given
+        var first = List.of(event(1), event(2));
+        var second = List.of(event(3));
+        Mockito.when(taskOutboxRepository.lockOldest(2))
+                .thenReturn(Flux.fromIterable(first))
+                .thenReturn(Flux.fromIterable(second));
+        Mockito.when(taskOutboxSink.publish(Mockito.anyList())).thenReturn(Mono.empty());
+        Mockito.when(taskOutboxRepository.deleteAll(List.of(1L, 2L))).thenReturn(Mono.just(2L));
+        Mockito.when(taskOutboxRepository.deleteAll(List.of(3L))).thenReturn(Mono.just(1L));
+
+        //when
+        var result = taskOutboxRelay.relay();
+
+        //then
+        StepVerifier.create(result)
+                .expectNext(3L)
+                .verifyComplete();
+        var inOrder = Mockito.inOrder(taskOutboxSink, taskOutboxRepository);
+        inOrder.verify(taskOutboxSink).publish(first);
+        inOrder.verify(taskOutboxRepository).deleteAll(List.of(1L, 2L));
+        inOrder.verify(taskOutboxSink).publish(second);
+        inOrder.verify(taskOutboxRepository).deleteAll(List.of(3L));
+
+    }
+
+    @Test
+    @DisplayName("should roll back and keep the events when the sink fails")
+    void relay_should_keep_events_when_sink_fails() {
+
+        //given
+        var events = List.of(event(1), event(2));
+        Mockito.when(taskOutboxRepository.lockOldest(2)).thenReturn(Flux.fromIterable(events));
+        Mockito.when(taskOutboxSink.publish(events)).thenReturn(Mono.error(new IllegalStateException("sink down")));
+
+        //when
+        var result = taskOutboxRelay.relay();
+
+        //then
+        StepVerifier.create(result)
+                .expectErrorMessage("sink down")
+                .verify();
+        Assertions.assertEquals(1, rolledBack.get());
+        Mockito.verify(taskOutboxRepository, Mockito.never()).deleteAll(Mockito.anyList());
+
+    }
+
+    @Test
+    @DisplayName("should not publish anything while the outbox is empty")
+    void relay_should_skip_empty_outbox() {
+
+        //given
+        Mockito.when(taskOutboxRepository.lockOldest(2)).thenReturn(Flux.empty());
+
+        //when
+        var result = taskOutboxRelay.relay();
+
+        //then
+        StepVerifier.create(result)
+                .expectNext(0L)
+                .verifyComplete();
+        Mockito.verifyNoInteractions(taskOutboxSink);
+
+    }
+
+    private static TaskOutboxEvent event(long id) {
+        return TaskOutboxEvent.builder()
+                .id(id)
+                .type(TaskChangeType.CREATED)
+                .taskId(UUID.randomUUID())
+                .createdAt(ZonedDateTime.now())
+                .task("{}")
+                .build();
+    }
+
+}
@@ -1,13 +1,29 @@
 package com.task.management.service;
 
+import com.task.management.config.TaskManagementProperties;
+import com.task.management.dto.ProjectedTaskDto;
+import com.task.management.dto.TaskBatchItemDto;
+import com.task.management.dto.TaskChangeEventDto;
 import com.task.management.dto.TaskCreateRequestDto;
 import com.task.management.dto.TaskDto;
+import com.task.management.dto.TaskEventDto;
+import com.task.management.dto.TaskFilter;
+import com.task.management.dto.TaskProjection;
+import com.task.management.dto.TaskQueuedUpdateRequestDto;
 import com.task.management.dto.TaskUpdateDto;
 import com.task.management.dto.TaskUpdateRequestDto;
 import com.task.management.exception.IllegalTaskManagementOperationException;
 import com.task.management.exception.TaskNotFoundException;
+import com.task.management.exception.TaskUpdateQueueFullException;
+import com.task.management.exception.TaskVersionConflictException;
 import com.task.management.model.Task;
+import com.task.management.model.TaskChange;
+import com.task.management.model.TaskChangeType;
+import com.task.management.model.TaskEvent;
+import com.task.management.model.TaskQueuedUpdate;
+import com.task.management.model.TaskSearchHit;
 import com.task.management.model.TaskStatus;
+import com.task.management.repository.TaskExportRepository;
 import com.task.management.repository.TaskRepository;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -17,12 +33,18 @@ import org.junit.jupiter.params.provider.EnumSource;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.mockito.Spy;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.reactive.TransactionalOperator;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
+import java.time.Duration;
 import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.UUID;
 
@@ -33,6 +55,24 @@ public class TaskServiceUnitTest {
     @Mock
     private TaskRepository taskRepository;
 
+    @Mock
+    private TaskExportRepository taskExportRepository;
+
+    @Mock
+    private TransactionalOperator transactionalOperator;
+
+    @Spy
+    private TaskManagementProperties properties = new TaskManagementProperties();
+
+    @Spy
+    private TaskCache taskCache = new TaskCache(new TaskManagementProperties(), new SimpleMeterRegistry());
+
+    @Spy
+    private TaskChangeHub taskChangeHub = new TaskChangeHub(new TaskManagementProperties());
+
+    @Mock
+    private TaskUpdateQueue taskUpdateQueue;
+
     @InjectMocks
     private TaskService taskService;
 
@@ -68,6 +108,32 @@ public class TaskServiceUnitTest {
 
     }
 
+    @Test
+    @DisplayName("should serve repeated reads of a task from the cache")
+    void findById_should_use_cache() {
+
+        // given
+        var taskId = UUID.randomUUID();
+        var task = Task.builder()
+                .id(taskId)
+                .title("title")
+                .status(TaskStatus.TODO)
+                .build();
+        Mockito.when(taskRepository.findById(taskId))
+                .thenReturn(Mono.just(task));
+
+        //when
+        taskService.findById(taskId).block();
+        var result = taskService.findById(taskId);
+
+        //then
+        StepVerifier.create(result)
+                .expectNextMatches(taskDto -> taskDto.getId().equals(taskId))
+                .verifyComplete();
+        Mockito.verify(taskRepository, Mockito.times(1)).findById(taskId);
+
+    }
+
     @Test
     @DisplayName("should throw TaskNotFoundException")
     void findById_throw_Exception() {
@@ -116,11 +182,11 @@ public class TaskServiceUnitTest {
                 .build();
 
         //and
-        Mockito.when(taskRepository.findAllPaged(size, page * size))
+        Mockito.when(taskRepository.findAllPaged(TaskFilter.NONE, TaskProjection.ALL, size, page * size))
                 .thenReturn(Flux.just(task1, task2));
 
         //when
-        var result = taskService.findAll(page, size);
+        var result = taskService.findAll(TaskFilter.NONE, TaskProjection.ALL, page, size);
 
         //then
         StepVerifier.create(result)
@@ -139,11 +205,11 @@ public class TaskServiceUnitTest {
         int size = 2;
 
         //and
-        Mockito.when(taskRepository.findAllPaged(size, page * size))
+        Mockito.when(taskRepository.findAllPaged(TaskFilter.NONE, TaskProjection.ALL, size, page * size))
                 .thenReturn(Flux.empty());
 
         //when
-        var result = taskService.findAll(page, size);
+        var result = taskService.findAll(TaskFilter.NONE, TaskProjection.ALL, page, size);
 
         //then
         StepVerifier.create(result)
@@ -152,6 +218,262 @@ public class TaskServiceUnitTest {
 
     }
 
+    @Test
+    @DisplayName("should only fill the fields read by the projection")
+    void findAll_should_succeed_with_projection() {
+
+        // given
+        var projection = TaskProjection.of("title");
+        var taskId = UUID.randomUUID();
+        var task = Task.builder()
+                .id(taskId)
+                .title("title")
+                .build();
+
+        //and
+        Mockito.when(taskRepository.findAllPaged(TaskFilter.NONE, projection, 10, 0))
+                .thenReturn(Flux.just(task));
+
+        //when
+        var result = taskService.findAll(TaskFilter.NONE, projection, 0, 10);
+
+        //then
+        StepVerifier.create(result)
+                .expectNextMatches(taskDto -> taskDto instanceof ProjectedTaskDto
+                        && taskDto.getId().equals(taskId)
+                        && taskDto.getTitle().equals("title")
+                        && taskDto.getStatus() == null
+                        && taskDto.getDescription() == null)
+                .verifyComplete();
+
+    }
+
+    @Test
+    @DisplayName("should stream every matching task through the export repository")
+    void streamAll_should_succeed() {
+
+        // given
+        var filter = TaskFilter.builder().status(TaskStatus.TODO).build();
+        var taskId = UUID.randomUUID();
+        var task = Task.builder()
+                .id(taskId)
+                .title("title")
+                .status(TaskStatus.TODO)
+                .build();
+
+        //and
+        Mockito.when(taskExportRepository.exportAll(filter, TaskProjection.ALL))
+                .thenReturn(Flux.just(task));
+
+        //when
+        var result = taskService.streamAll(filter, TaskProjection.ALL);
+
+        //then
+        StepVerifier.create(result)
+                .expectNextMatches(taskDto -> taskDto.getId().equals(taskId))
+                .verifyComplete();
+        Mockito.verifyNoInteractions(taskRepository);
+
+    }
+
+    @Test
+    @DisplayName("should export every matching task through the export repository")
+    void export_should_succeed() {
+
+        // given
+        var filter = TaskFilter.builder().ownerId(UUID.randomUUID()).build();
+        var taskId = UUID.randomUUID();
+        var task = Task.builder()
+                .id(taskId)
+                .title("title")
+                .status(TaskStatus.DONE)
+                .build();
+
+        //and
+        Mockito.when(taskExportRepository.exportAll(filter, TaskProjection.ALL))
+                .thenReturn(Flux.just(task));
+
+        //when
+        var result = taskService.export(filter);
+
+        //then
+        StepVerifier.create(result)
+                .expectNextMatches(taskDto -> taskDto.getId().equals(taskId) &&
+                        taskDto.getStatus() == com.task.management.dto.TaskStatus.DONE)
+                .verifyComplete();
+        Mockito.verifyNoInteractions(taskRepository);
+
+    }
+
+    @Test
+    @DisplayName("should search after the rank and id encoded in the cursor")
+    void search_should_succeed() {
+
+        // given
+        int size = 2;
+        var lastSeenId = UUID.randomUUID();
+        var cursor = new TaskSearchCursor(0.25f, lastSeenId).encode();
+        var taskId = UUID.randomUUID();
+        var task = Task.builder()
+                .id(taskId)
+                .title("write documentation")
+                .status(TaskStatus.TODO)
+                .build();
+
+        //and
+        Mockito.when(taskRepository.search("documentation", TaskFilter.NONE, 0.25f, lastSeenId, size))
+                .thenReturn(Flux.just(new TaskSearchHit(task, 0.2f)));
+
+        //when
+        var result = taskService.search("documentation", TaskFilter.NONE, cursor, size);
+
+        //then
+        StepVerifier.create(result)
+                .expectNextMatches(searchResult -> searchResult.getTask().getId().equals(taskId) &&
+                        searchResult.getRank() == 0.2f)
+                .verifyComplete();
+
+    }
+
+    @Test
+    @DisplayName("should reject a malformed search cursor")
+    void search_should_fail_with_invalid_cursor() {
+
+        //when
+        var result = taskService.search("documentation", TaskFilter.NONE, "not-a-cursor", 2);
+
+        //then
+        StepVerifier.create(result)
+                .expectError(IllegalTaskManagementOperationException.class)
+                .verify();
+        Mockito.verifyNoInteractions(taskRepository);
+
+    }
+
+    @Test
+    @DisplayName("should read the history after the cursor and expose the status by name")
+    void findHistory_should_succeed() {
+
+        // given
+        int size = 2;
+        var taskId = UUID.randomUUID();
+        var assigneeId = UUID.randomUUID();
+        var lastSeenTime = ZonedDateTime.parse("2025-09-28T08:30:00.123456Z");
+        var cursor = new TaskEventCursor(lastSeenTime, 41L).encode();
+        var event = TaskEvent.builder()
+                .id(42L)
+                .taskId(taskId)
+                .type(TaskChangeType.UPDATED)
+                .time(lastSeenTime.plusSeconds(1))
+                .version(2L)
+                .changes(Map.of("status", 1, "assigneeId", assigneeId.toString()))
+                .build();
+
+        //and
+        Mockito.when(taskRepository.findEvents(taskId, lastSeenTime, 41L, size))
+                .thenReturn(Flux.just(event));
+
+        //when
+        var result = taskService.findHistory(taskId, cursor, size);
+
+        //then
+        StepVerifier.create(result)
+                .expectNextMatches(eventDto -> eventDto.getId() == 42L &&
+                        eventDto.getType() == TaskEventDto.TypeEnum.UPDATED &&
+                        eventDto.getVersion() == 2L &&
+                        eventDto.getChanges().equals(Map.of("status", "IN_PROGRESS", "assigneeId", assigneeId.toString())))
+                .verifyComplete();
+
+    }
+
+    @Test
+    @DisplayName("should read the history from the start without a cursor")
+    void findHistory_should_succeed_without_cursor() {
+
+        // given
+        var taskId = UUID.randomUUID();
+        var event = TaskEvent.builder()
+                .id(7L)
+                .taskId(taskId)
+                .type(TaskChangeType.DELETED)
+                .time(ZonedDateTime.now())
+                .version(3L)
+                .build();
+
+        //and
+        Mockito.when(taskRepository.findEvents(taskId, null, null, 20))
+                .thenReturn(Flux.just(event));
+
+        //when
+        var result = taskService.findHistory(taskId, null, 20);
+
+        //then
+        StepVerifier.create(result)
+                .expectNextMatches(eventDto -> eventDto.getType() == TaskEventDto.TypeEnum.DELETED &&
+                        eventDto.getChanges() == null)
+                .verifyComplete();
+
+    }
+
+    @Test
+    @DisplayName("should reject a malformed history cursor")
+    void findHistory_should_fail_with_invalid_cursor() {
+
+        //when
+        var result = taskService.findHistory(UUID.randomUUID(), "not-a-cursor", 2);
+
+        //then
+        StepVerifier.create(result)
+                .expectError(IllegalTaskManagementOperationException.class)
+                .verify();
+        Mockito.verifyNoInteractions(taskRepository);
+
+    }
+
+    @Test
+    @DisplayName("should continue after the position encoded in the cursor")
+    void findAllAfter_should_succeed() {
+
+        // given
+        int size = 2;
+        var creationDate = ZonedDateTime.parse("2025-09-28T08:30:00.123456Z");
+        var lastSeenId = UUID.randomUUID();
+        var cursor = new TaskCursor(creationDate, lastSeenId).encode();
+        var taskId = UUID.randomUUID();
+        var task = Task.builder()
+                .id(taskId)
+                .title("title")
+                .status(TaskStatus.TODO)
+                .build();
+
+        //and
+        Mockito.when(taskRepository.findAllAfter(TaskFilter.NONE, TaskProjection.ALL, creationDate, lastSeenId, size))
+                .thenReturn(Flux.just(task));
+
+        //when
+        var result = taskService.findAllAfter(TaskFilter.NONE, TaskProjection.ALL, cursor, size);
+
+        //then
+        StepVerifier.create(result)
+                .expectNextMatches(taskDto -> taskDto.getId().equals(taskId))
+                .verifyComplete();
+
+    }
+
+    @Test
+    @DisplayName("should signal IllegalTaskManagementOperationException for a malformed cursor")
+    void findAllAfter_throw_exception() {
+
+        //when
+        var result = taskService.findAllAfter(TaskFilter.NONE, TaskProjection.ALL, "not-a-cursor", 2);
+
+        //then
+        StepVerifier.create(result)
+                .expectError(IllegalTaskManagementOperationException.class)
+                .verify();
+
+    }
+
     @Test
     @DisplayName("should call save method from repository")
     void save_succeed() {
@@ -193,6 +515,42 @@ public class TaskServiceUnitTest {
         ));
     }
 
+    @Test
+    @DisplayName("should insert the tasks in chunks inside one transaction")
+    void saveAll_succeed() {
+
+        //given
+        properties.getBatch().setChunkSize(2);
+        var ownerId = UUID.randomUUID();
+        var requests = Flux.range(0, 3)
+                .map(i -> TaskCreateRequestDto.builder()
+                        .title("title" + i)
+                        .ownerId(ownerId)
+                        .build());
+
+        //and mock the returning value from insertAll method
+        Mockito.when(taskRepository.insertAll(Mockito.anyList()))
+                .thenAnswer(invocation -> Flux.fromIterable(invocation.<List<Task>>getArgument(0))
+                        .map(task -> task.toBuilder().id(UUID.randomUUID()).build()));
+        Mockito.when(transactionalOperator.transactional(Mockito.<Flux<TaskBatchItemDto>>any()))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        //when
+        var result = taskService.saveAll(requests);
+
+        //then
+        StepVerifier.create(result)
+                .expectNextMatches(item -> item.getIndex() == 0 && item.getTask().getTitle().equals("title0"))
+                .expectNextMatches(item -> item.getIndex() == 1 && item.getTask().getTitle().equals("title1"))
+                .expectNextMatches(item -> item.getIndex() == 2 && item.getTask().getTitle().equals("title2"))
+                .verifyComplete();
+        Mockito.verify(taskRepository, Mockito.times(2)).insertAll(Mockito.anyList());
+        Mockito.verify(taskRepository).insertAll(Mockito.argThat(tasks -> tasks.size() == 1 &&
+                tasks.get(0).getStatus().equals(TaskStatus.TODO) &&
+                Objects.nonNull(tasks.get(0).getCreationDate())));
+
+    }
+
     @Test
     @DisplayName("should attempt to update the task")
     void update_succeed() {
@@ -209,7 +567,7 @@ public class TaskServiceUnitTest {
                 .build();
         var taskId = UUID.randomUUID();
 
-        //and mock the returning value from findById method from repository
+        //and mock the returning value from updateIfValid method from repository
         var task = Task.builder()
                 .id(taskId)
                 .title(title)
@@ -219,29 +577,26 @@ public class TaskServiceUnitTest {
                 .assigneeId(assigneeId)
                 .creationDate(ZonedDateTime.now())
                 .build();
-        Mockito.when(taskRepository.findById(taskId))
-                .thenReturn(Mono.just(task));
-
-        //and mock the returning value from save method from repository
-        Mockito.when(taskRepository.save(Mockito.any(Task.class)))
+        Mockito.when(taskRepository.updateIfValid(taskId, title, description, assigneeId, null, null))
                 .thenReturn(Mono.just(task));
 
         //when
-        taskService.update(TaskUpdateDto.builder()
+        var result = taskService.update(TaskUpdateDto.builder()
                         .taskUpdateRequestDto(taskUpdateRequestDto)
                         .id(taskId)
-                        .build())
-                .block();
+                        .build());
 
         //then
-        Mockito.verify(taskRepository).save(Mockito.argThat(
-                taskDto -> taskDto.getAssigneeId().equals(assigneeId) &&
+        StepVerifier.create(result)
+                .expectNextMatches(taskDto -> taskDto.getAssigneeId().equals(assigneeId) &&
                         taskDto.getOwnerId().equals(ownerId) &&
                         taskDto.getTitle().equals(title) &&
                         taskDto.getDescription().equals(description) &&
-                        taskDto.getStatus().equals(TaskStatus.APPROVED) &&
-                        Objects.nonNull(taskDto.getCreationDate())
-        ));
+                        taskDto.getStatus().equals(com.task.management.dto.TaskStatus.APPROVED) &&
+                        Objects.nonNull(taskDto.getCreationDate()))
+                .verifyComplete();
+        Mockito.verify(taskRepository, Mockito.never()).findById(taskId);
+        Mockito.verify(taskCache).invalidate(taskId);
     }
 
     @Test
@@ -260,7 +615,9 @@ public class TaskServiceUnitTest {
                 .build();
         var taskId = UUID.randomUUID();
 
-        //and mock the returning value from findById method from repository
+        //and mock the returning values from repository
+        Mockito.when(taskRepository.updateIfValid(taskId, title, description, assigneeId, null, null))
+                .thenReturn(Mono.empty());
         Mockito.when(taskRepository.findById(taskId))
                 .thenReturn(Mono.empty());
 
@@ -277,65 +634,157 @@ public class TaskServiceUnitTest {
 
     }
 
-    @ParameterizedTest
-    @EnumSource(value = TaskStatus.class, names = {"TODO", "CANCELLED"})
-    @DisplayName("should call deleteById method from repository for valid statuses")
-    void delete_succeed(TaskStatus status) {
+    @Test
+    @DisplayName("should throw IllegalTaskManagementOperationException when the update is rejected")
+    void update_throws_illegal_operation_exception() {
 
         //given
-        var assigneeId = UUID.randomUUID();
-        var ownerId = UUID.randomUUID();
-        var title = "title";
-        var description = "description";
+        var taskUpdateRequestDto = TaskUpdateRequestDto.builder()
+                .status(com.task.management.dto.TaskStatus.IN_PROGRESS)
+                .build();
         var taskId = UUID.randomUUID();
-        var task = Task.builder()
+
+        //and mock the returning values from repository
+        Mockito.when(taskRepository.updateIfValid(taskId, null, null, null, TaskStatus.IN_PROGRESS.getCode(), null))
+                .thenReturn(Mono.empty());
+        Mockito.when(taskRepository.findById(taskId))
+                .thenReturn(Mono.just(Task.builder().id(taskId).status(TaskStatus.TODO).version(0L).build()));
+
+        //when
+        var result = taskService.update(TaskUpdateDto.builder()
+                .taskUpdateRequestDto(taskUpdateRequestDto)
                 .id(taskId)
-                .title(title)
-                .description(description)
-                .status(status)
-                .ownerId(ownerId)
-                .assigneeId(assigneeId)
-                .creationDate(ZonedDateTime.now())
+                .build());
+
+        //then
+        StepVerifier.create(result)
+                .expectError(IllegalTaskManagementOperationException.class)
+                .verify();
+
+    }
+
+    @Test
+    @DisplayName("should throw TaskVersionConflictException when the expected version is outdated")
+    void update_throws_version_conflict_exception() {
+
+        //given
+        var taskUpdateRequestDto = TaskUpdateRequestDto.builder()
+                .title("title")
                 .build();
+        var taskId = UUID.randomUUID();
 
-        //and mock the returning value from findById method from repository
-        Mockito.when(taskRepository.findById(taskId))
-                .thenReturn(Mono.just(task));
-        Mockito.when(taskRepository.deleteById(taskId))
+        //and mock the returning values from repository
+        Mockito.when(taskRepository.updateIfValid(taskId, "title", null, null, null, 1L))
                 .thenReturn(Mono.empty());
+        Mockito.when(taskRepository.findById(taskId))
+                .thenReturn(Mono.just(Task.builder().id(taskId).status(TaskStatus.TODO).version(2L).build()));
 
         //when
-        taskService.delete(taskId).block();
+        var result = taskService.update(TaskUpdateDto.builder()
+                .taskUpdateRequestDto(taskUpdateRequestDto)
+                .id(taskId)
+                .expectedVersion(1L)
+                .build());
 
         //then
-        Mockito.verify(taskRepository).deleteById(taskId);
+        StepVerifier.create(result)
+                .expectError(TaskVersionConflictException.class)
+                .verify();
 
     }
 
-    @ParameterizedTest
-    @EnumSource(value = TaskStatus.class, names = {"APPROVED", "DONE", "IN_PROGRESS", "UNDER_REVIEW"})
-    @DisplayName("should throw IllegalTaskManagementOperationException for invalid statuses")
-    void delete_throw_exception(TaskStatus status) {
+    @Test
+    @DisplayName("should queue a status change")
+    void queueUpdate_should_succeed() {
 
         //given
-        var assigneeId = UUID.randomUUID();
-        var ownerId = UUID.randomUUID();
-        var title = "title";
-        var description = "description";
         var taskId = UUID.randomUUID();
-        var task = Task.builder()
-                .id(taskId)
-                .title(title)
-                .description(description)
-                .status(status)
-                .ownerId(ownerId)
+        var update = TaskQueuedUpdate.builder().id(taskId).status(TaskStatus.DONE).build();
+        Mockito.when(taskUpdateQueue.offer(update)).thenReturn(true);
+
+        //when
+        var result = taskService.queueUpdate(taskId, TaskQueuedUpdateRequestDto.builder()
+                .status(com.task.management.dto.TaskStatus.DONE)
+                .build());
+
+        //then
+        StepVerifier.create(result)
+                .verifyComplete();
+        Mockito.verify(taskUpdateQueue, Mockito.times(1)).offer(update);
+
+    }
+
+    @Test
+    @DisplayName("should throw TaskUpdateQueueFullException when the queue does not accept the change")
+    void queueUpdate_throw_exception() {
+
+        //given
+        var taskId = UUID.randomUUID();
+        var assigneeId = UUID.randomUUID();
+        Mockito.when(taskUpdateQueue.offer(TaskQueuedUpdate.builder().id(taskId).assigneeId(assigneeId).build()))
+                .thenReturn(false);
+
+        //when
+        var result = taskService.queueUpdate(taskId, TaskQueuedUpdateRequestDto.builder()
                 .assigneeId(assigneeId)
-                .creationDate(ZonedDateTime.now())
-                .build();
+                .build());
 
-        //and mock the returning value from findById method from repository
-        Mockito.when(taskRepository.findById(taskId))
-                .thenReturn(Mono.just(task));
+        //then
+        StepVerifier.create(result)
+                .expectError(TaskUpdateQueueFullException.class)
+                .verify();
+
+    }
+
+    @Test
+    @DisplayName("should throw IllegalTaskManagementOperationException for an empty change")
+    void queueUpdate_validation_error() {
+
+        //when
+        var result = taskService.queueUpdate(UUID.randomUUID(), TaskQueuedUpdateRequestDto.builder().build());
+
+        //then
+        StepVerifier.create(result)
+                .expectError(IllegalTaskManagementOperationException.class)
+                .verify();
+        Mockito.verifyNoInteractions(taskUpdateQueue);
+
+    }
+
+    @Test
+    @DisplayName("should delete the task with one conditional statement")
+    void delete_succeed() {
+
+        //given
+        var taskId = UUID.randomUUID();
+
+        //and mock the returning value from deleteIfRemovable method from repository
+        Mockito.when(taskRepository.deleteIfRemovable(taskId))
+                .thenReturn(Mono.just(taskId));
+
+        //when
+        var result = taskService.delete(taskId);
+
+        //then
+        StepVerifier.create(result)
+                .expectNext(taskId.toString())
+                .verifyComplete();
+        Mockito.verify(taskRepository, Mockito.never()).existsById(taskId);
+
+    }
+
+    @Test
+    @DisplayName("should throw IllegalTaskManagementOperationException for an existing task that was not deleted")
+    void delete_throw_exception() {
+
+        //given
+        var taskId = UUID.randomUUID();
+
+        //and mock the returning values from repository
+        Mockito.when(taskRepository.deleteIfRemovable(taskId))
+                .thenReturn(Mono.empty());
+        Mockito.when(taskRepository.existsById(taskId))
+                .thenReturn(Mono.just(true));
 
         //when
         var result = taskService.delete(taskId);
@@ -353,8 +802,10 @@ public class TaskServiceUnitTest {
 
         //given
         var taskId = UUID.randomUUID();
-        Mockito.when(taskRepository.findById(taskId))
+        Mockito.when(taskRepository.deleteIfRemovable(taskId))
                 .thenReturn(Mono.empty());
+        Mockito.when(taskRepository.existsById(taskId))
+                .thenReturn(Mono.just(false));
 
         //when
         var result = taskService.delete(taskId);
@@ -366,6 +817,128 @@ public class TaskServiceUnitTest {
 
     }
 
+    @ParameterizedTest
+    @EnumSource(value = TaskStatus.class, names = {"TODO", "CANCELLED"})
+    @DisplayName("should stream the ids of the deleted tasks for removable statuses")
+    void deleteAll_succeed(TaskStatus status) {
+
+        //given
+        var filter = TaskFilter.builder().status(status).build();
+        var taskIds = List.of(UUID.randomUUID(), UUID.randomUUID());
+        Mockito.when(taskRepository.deleteAllMatching(filter))
+                .thenReturn(Flux.fromIterable(taskIds));
+
+        //when
+        var result = taskService.deleteAll(filter);
+
+        //then
+        StepVerifier.create(result)
+                .expectNextSequence(taskIds)
+                .verifyComplete();
+
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = TaskStatus.class, names = {"APPROVED", "DONE", "IN_PROGRESS", "UNDER_REVIEW"})
+    @DisplayName("should throw IllegalTaskManagementOperationException for statuses that are not removable")
+    void deleteAll_throw_exception(TaskStatus status) {
+
+        //given
+        var filter = TaskFilter.builder().status(status).build();
+
+        //when
+        var result = taskService.deleteAll(filter);
+
+        //then
+        StepVerifier.create(result)
+                .expectError(IllegalTaskManagementOperationException.class)
+                .verify();
+        Mockito.verifyNoInteractions(taskRepository);
+
+    }
+
+    @Test
+    @DisplayName("should stream the changes of the given owner as server-sent events")
+    void streamChanges_should_filter_by_owner() {
+
+        //given
+        var ownerId = UUID.randomUUID();
+        var taskId = UUID.randomUUID();
+
+        //when
+        var result = taskService.streamChanges(ownerId, null, null);
+
+        //then
+        StepVerifier.create(result)
+                .then(() -> {
+                    taskChangeHub.publish(TaskChange.builder()
+                            .sequence(1)
+                            .type(TaskChangeType.CREATED)
+                            .taskId(UUID.randomUUID())
+                            .ownerId(UUID.randomUUID())
+                            .status(TaskStatus.TODO)
+                            .build());
+                    taskChangeHub.publish(TaskChange.builder()
+                            .sequence(2)
+                            .type(TaskChangeType.DELETED)
+                            .taskId(taskId)
+                            .ownerId(ownerId)
+                            .status(TaskStatus.CANCELLED)
+                            .build());
+                })
+                .expectNextMatches(event -> "2".equals(event.id()) &&
+                        "DELETED".equals(event.event()) &&
+                        Objects.requireNonNull(event.data()).getTaskId().equals(taskId) &&
+                        event.data().getStatus() == com.task.management.dto.TaskStatus.CANCELLED)
+                .thenCancel()
+                .verify();
+
+    }
 
+    @Test
+    @DisplayName("should stream a gap marker without id so that a reconnect resumes after the last received change")
+    void streamChanges_should_send_gap_without_id() {
+
+        //given
+        Mockito.doReturn(Flux.just(TaskChange.gap(3)))
+                .when(taskChangeHub).changes(Mockito.any(), Mockito.any());
+
+        //when
+        var result = taskService.streamChanges(null, null, null);
+
+        //then
+        StepVerifier.create(result)
+                .expectNextMatches(event -> event.id() == null &&
+                        "GAP".equals(event.event()) &&
+                        Objects.requireNonNull(event.data()).getType() == TaskChangeEventDto.TypeEnum.GAP &&
+                        event.data().getSequence() == 3L)
+                .thenCancel()
+                .verify();
+
+    }
+
+    @Test
+    @DisplayName("should ignore a Last-Event-ID that is not a sequence")
+    void streamChanges_should_ignore_invalid_last_event_id() {
+
+        //given
+        taskChangeHub.publish(TaskChange.builder()
+                .sequence(1)
+                .type(TaskChangeType.CREATED)
+                .taskId(UUID.randomUUID())
+                .status(TaskStatus.TODO)
+                .build());
+
+        //when
+        var result = taskService.streamChanges(null, null, "not-a-sequence");
+
+        //then
+        StepVerifier.create(result)
+                .expectSubscription()
+                .expectNoEvent(Duration.ofMillis(100))
+                .thenCancel()
+                .verify();
+
+    }
 
 }
@@ -0,0 +1,141 @@
+package com.task.management.service;
+
+import com.task.management.config.TaskManagementProperties;
+import com.task.management.dto.TaskFilter;
+import com.task.management.dto.TaskStatsDto;
+import com.task.management.model.TaskCount;
+import com.task.management.model.TaskCountGrouping;
+import com.task.management.model.TaskStatus;
+import com.task.management.repository.TaskRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.UUID;
+
+@ExtendWith(MockitoExtension.class)
+public class TaskStatsServiceUnitTest {
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    private TaskStatsService taskStatsService;
+
+    @BeforeEach
+    void setup() {
+        taskStatsService = new TaskStatsService(taskRepository, new TaskManagementProperties());
+    }
+
+    @Test
+    @DisplayName("should read fast stats from the summary tables once per cache period")
+    void getStats_fast_should_use_cached_summary() {
+
+        //given
+        var ownerId = UUID.randomUUID();
+        Mockito.when(taskRepository.countFromSummary(TaskCountGrouping.STATUS))
+                .thenReturn(Flux.just(TaskCount.builder().status(TaskStatus.TODO).count(3).build()));
+        Mockito.when(taskRepository.countFromSummary(TaskCountGrouping.OWNER))
+                .thenReturn(Flux.just(TaskCount.builder().status(TaskStatus.TODO).ownerId(ownerId).count(3).build()));
+        Mockito.when(taskRepository.countFromSummary(TaskCountGrouping.ASSIGNEE))
+                .thenReturn(Flux.empty());
+
+        //when
+        var first = taskStatsService.getStats(false);
+        var second = taskStatsService.getStats(false);
+
+        //then
+        StepVerifier.create(first)
+                .expectNextMatches(stats -> stats.getMode() == TaskStatsDto.ModeEnum.FAST &&
+                        stats.getByStatus().get(0).getCount() == 3 &&
+                        stats.getByOwner().get(0).getOwnerId().equals(ownerId) &&
+                        stats.getByAssignee().isEmpty())
+                .verifyComplete();
+        StepVerifier.create(second)
+                .expectNextCount(1)
+                .verifyComplete();
+        Mockito.verify(taskRepository, Mockito.times(1)).countFromSummary(TaskCountGrouping.STATUS);
+
+    }
+
+    @Test
+    @DisplayName("should count exactly from the task table on every call")
+    void getStats_exact_should_scan() {
+
+        //given
+        var assigneeId = UUID.randomUUID();
+        Mockito.when(taskRepository.countExactly(TaskCountGrouping.STATUS))
+                .thenReturn(Flux.just(TaskCount.builder().status(TaskStatus.DONE).count(1).build()));
+        Mockito.when(taskRepository.countExactly(TaskCountGrouping.OWNER))
+                .thenReturn(Flux.empty());
+        Mockito.when(taskRepository.countExactly(TaskCountGrouping.ASSIGNEE))
+                .thenReturn(Flux.just(TaskCount.builder().status(TaskStatus.DONE).assigneeId(assigneeId).count(1).build()));
+
+        //when
+        var result = taskStatsService.getStats(true);
+
+        //then
+        StepVerifier.create(result)
+                .expectNextMatches(stats -> stats.getMode() == TaskStatsDto.ModeEnum.EXACT &&
+                        stats.getByStatus().get(0).getStatus() == com.task.management.dto.TaskStatus.DONE &&
+                        stats.getByAssignee().get(0).getAssigneeId().equals(assigneeId))
+                .verifyComplete();
+        Mockito.verify(taskRepository, Mockito.never()).countFromSummary(Mockito.any());
+
+    }
+
+    @Test
+    @DisplayName("should reuse an estimated count for the same filter")
+    void countTasks_estimated_should_use_cache() {
+
+        //given
+        var filter = TaskFilter.builder().status(TaskStatus.TODO).build();
+        Mockito.when(taskRepository.estimateMatching(filter)).thenReturn(Mono.just(42L));
+
+        //when
+        var first = taskStatsService.countTasks(filter, false);
+        var second = taskStatsService.countTasks(TaskFilter.builder().status(TaskStatus.TODO).build(), false);
+
+        //then
+        StepVerifier.create(first)
+                .expectNext(42L)
+                .verifyComplete();
+        StepVerifier.create(second)
+                .expectNext(42L)
+                .verifyComplete();
+        Mockito.verify(taskRepository, Mockito.times(1)).estimateMatching(filter);
+        Mockito.verify(taskRepository, Mockito.never()).countMatching(Mockito.any());
+
+    }
+
+    @Test
+    @DisplayName("should count exactly on every call")
+    void countTasks_exact_should_not_use_cache() {
+
+        //given
+        var filter = TaskFilter.builder().build();
+        Mockito.when(taskRepository.countMatching(filter)).thenReturn(Mono.just(7L));
+
+        //when
+        var first = taskStatsService.countTasks(filter, true);
+        var second = taskStatsService.countTasks(filter, true);
+
+        //then
+        StepVerifier.create(first)
+                .expectNext(7L)
+                .verifyComplete();
+        StepVerifier.create(second)
+                .expectNext(7L)
+                .verifyComplete();
+        Mockito.verify(taskRepository, Mockito.times(2)).countMatching(filter);
+        Mockito.verify(taskRepository, Mockito.never()).estimateMatching(Mockito.any());
+
+    }
+
+}
@@ -0,0 +1,226 @@
+package com.task.management.service;
+
+import com.task.management.config.TaskManagementProperties;
+import com.task.management.model.TaskQueuedUpdate;
+import com.task.management.model.TaskStatus;
+import com.task.management.repository.TaskRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+@ExtendWith(MockitoExtension.class)
+public class TaskUpdateQueueUnitTest {
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    private TaskManagementProperties properties;
+    private TaskUpdateQueue taskUpdateQueue;
+
+    @BeforeEach
+    void setup() {
+        properties = new TaskManagementProperties();
+        properties.getUpdateQueue().setCapacity(2);
+        properties.getUpdateQueue().setBatchSize(2);
+        properties.getUpdateQueue().setFlushInterval(Duration.ofHours(1));
+        taskUpdateQueue = new TaskUpdateQueue(taskRepository,
+                new TaskCache(properties, new SimpleMeterRegistry()),
+                properties,
+                new SimpleMeterRegistry());
+    }
+
+    @Test
+    @DisplayName("should write the changes queued for the same task as one update")
+    void flush_should_coalesce_updates() {
+
+        //given
+        var taskId = UUID.randomUUID();
+        var assigneeId = UUID.randomUUID();
+        var merged = TaskQueuedUpdate.builder().id(taskId).status(TaskStatus.DONE).assigneeId(assigneeId).build();
+        Mockito.when(taskRepository.updateAll(List.of(merged))).thenReturn(Flux.just(taskId));
+        taskUpdateQueue.offer(TaskQueuedUpdate.builder().id(taskId).status(TaskStatus.IN_PROGRESS).assigneeId(assigneeId).build());
+        taskUpdateQueue.offer(TaskQueuedUpdate.builder().id(taskId).status(TaskStatus.DONE).build());
+
+        //when
+        var result = taskUpdateQueue.flush();
+
+        //then
+        StepVerifier.create(result)
+                .verifyComplete();
+        Mockito.verify(taskRepository, Mockito.times(1)).updateAll(List.of(merged));
+
+    }
+
+    @Test
+    @DisplayName("should reject changes of further tasks while the queue is full")
+    void offer_should_reject_when_full() {
+
+        //given
+        var taskId = UUID.randomUUID();
+        taskUpdateQueue.offer(TaskQueuedUpdate.builder().id(taskId).status(TaskStatus.TODO).build());
+        taskUpdateQueue.offer(TaskQueuedUpdate.builder().id(UUID.randomUUID()).status(TaskStatus.TODO).build());
+
+        //when
+        var acceptedForNewTask = taskUpdateQueue.offer(TaskQueuedUpdate.builder().id(UUID.randomUUID()).status(TaskStatus.TODO).build());
+        var acceptedForQueuedTask = taskUpdateQueue.offer(TaskQueuedUpdate.builder().id(taskId).status(TaskStatus.CANCELLED).build());
+
+        //then
+        Assertions.assertFalse(acceptedForNewTask);
+        Assertions.assertTrue(acceptedForQueuedTask);
+
+    }
+
+    @Test
+    @DisplayName("should never accept more tasks than the capacity from concurrent callers")
+    void offer_should_enforce_capacity_concurrently() {
+
+        //given
+        properties.getUpdateQueue().setCapacity(100);
+        properties.getUpdateQueue().setBatchSize(1000);
+
+        //when
+        var accepted = Flux.range(0, 1000)
+                .parallel(8)
+                .runOn(Schedulers.parallel())
+                .filter(i -> taskUpdateQueue.offer(TaskQueuedUpdate.builder().id(UUID.randomUUID()).status(TaskStatus.TODO).build()))
+                .sequential()
+                .count()
+                .block();
+
+        //then
+        Assertions.assertEquals(100L, accepted);
+
+    }
+
+    @Test
+    @DisplayName("should count the tasks being written against the capacity")
+    void offer_should_reject_while_full_batch_is_written() {
+
+        //given
+        var write = Sinks.many().unicast().<UUID>onBackpressureBuffer();
+        Mockito.when(taskRepository.updateAll(Mockito.anyList())).thenReturn(write.asFlux());
+        taskUpdateQueue.offer(TaskQueuedUpdate.builder().id(UUID.randomUUID()).status(TaskStatus.TODO).build());
+        taskUpdateQueue.offer(TaskQueuedUpdate.builder().id(UUID.randomUUID()).status(TaskStatus.TODO).build());
+        taskUpdateQueue.flush().subscribe();
+
+        //when
+        var acceptedWhileWritten = taskUpdateQueue.offer(TaskQueuedUpdate.builder().id(UUID.randomUUID()).status(TaskStatus.TODO).build());
+        write.tryEmitComplete();
+        var acceptedAfterWrite = taskUpdateQueue.offer(TaskQueuedUpdate.builder().id(UUID.randomUUID()).status(TaskStatus.TODO).build());
+
+        //then
+        Assertions.assertFalse(acceptedWhileWritten);
+        Assertions.assertTrue(acceptedAfterWrite);
+
+    }
+
+    @Test
+    @DisplayName("should queue a failed batch again without overriding later changes")
+    void flush_should_requeue_failed_batch() {
+
+        //given
+        var taskId = UUID.randomUUID();
+        var assigneeId = UUID.randomUUID();
+        var failed = TaskQueuedUpdate.builder().id(taskId).status(TaskStatus.IN_PROGRESS).assigneeId(assigneeId).build();
+        var retried = TaskQueuedUpdate.builder().id(taskId).status(TaskStatus.DONE).assigneeId(assigneeId).build();
+        Mockito.when(taskRepository.updateAll(List.of(failed)))
+                .thenReturn(Flux.error(new DataAccessResourceFailureException("down")));
+        Mockito.when(taskRepository.updateAll(List.of(retried))).thenReturn(Flux.just(taskId));
+        taskUpdateQueue.offer(failed);
+
+        //when
+        var result = taskUpdateQueue.flush()
+                .then(Mono.fromRunnable(() ->
+                        taskUpdateQueue.offer(TaskQueuedUpdate.builder().id(taskId).status(TaskStatus.DONE).build())))
+                .then(Mono.defer(taskUpdateQueue::flush));
+
+        //then
+        StepVerifier.create(result)
+                .verifyComplete();
+        Mockito.verify(taskRepository, Mockito.times(1)).updateAll(List.of(retried));
+
+    }
+
+    @Test
+    @DisplayName("should write a full batch without waiting for the flush interval and the rest on stop")
+    void start_should_flush_full_batches() {
+
+        //given
+        var taskIds = List.of(UUID.randomUUID(), UUID.randomUUID());
+        Mockito.when(taskRepository.updateAll(Mockito.anyList()))
+                .thenAnswer(invocation -> Flux.fromIterable(invocation.<List<TaskQueuedUpdate>>getArgument(0))
+                        .map(TaskQueuedUpdate::getId));
+        taskUpdateQueue.start();
+
+        //when
+        taskIds.forEach(taskId -> taskUpdateQueue.offer(TaskQueuedUpdate.builder().id(taskId).status(TaskStatus.TODO).build()));
+
+        //then
+        Mockito.verify(taskRepository, Mockito.timeout(1000)).updateAll(Mockito.argThat(updates -> updates.size() == 2));
+        Assertions.assertTrue(taskUpdateQueue.isRunning());
+        taskUpdateQueue.offer(TaskQueuedUpdate.builder().id(taskIds.get(0)).status(TaskStatus.CANCELLED).build());
+        taskUpdateQueue.stop();
+        Mockito.verify(taskRepository, Mockito.timeout(1000)).updateAll(Mockito.argThat(updates -> updates.size() == 1));
+        Assertions.assertFalse(taskUpdateQueue.isRunning());
+
+    }
+
+    @Test
+    @DisplayName("should let the running write complete on stop and write the changes queued meanwhile")
+    void stop_should_wait_for_running_flush() {
+
+        //given
+        properties.getUpdateQueue().setCapacity(3);
+        var taskIds = List.of(UUID.randomUUID(), UUID.randomUUID());
+        var lateTaskId = UUID.randomUUID();
+        var write = Sinks.many().unicast().<UUID>onBackpressureBuffer();
+        Mockito.when(taskRepository.updateAll(Mockito.argThat(updates -> updates.size() == 2))).thenReturn(write.asFlux());
+        Mockito.when(taskRepository.updateAll(List.of(TaskQueuedUpdate.builder().id(lateTaskId).status(TaskStatus.DONE).build())))
+                .thenReturn(Flux.just(lateTaskId));
+        var stopped = new CountDownLatch(1);
+        taskUpdateQueue.start();
+        taskIds.forEach(taskId -> taskUpdateQueue.offer(TaskQueuedUpdate.builder().id(taskId).status(TaskStatus.TODO).build()));
+        Mockito.verify(taskRepository, Mockito.timeout(1000)).updateAll(Mockito.argThat(updates -> updates.size() == 2));
+        taskUpdateQueue.offer(TaskQueuedUpdate.builder().id(lateTaskId).status(TaskStatus.DONE).build());
+
+        //when
+        taskUpdateQueue.stop(stopped::countDown);
+
+        //then
+        Assertions.assertFalse(taskUpdateQueue.isRunning());
+        Assertions.assertEquals(1, stopped.getCount());
+        taskIds.forEach(write::tryEmitNext);
+        write.tryEmitComplete();
+        Assertions.assertTrue(await(stopped));
+        Mockito.verify(taskRepository).updateAll(List.of(TaskQueuedUpdate.builder().id(lateTaskId).status(TaskStatus.DONE).build()));
+
+    }
+
+    private static boolean await(CountDownLatch latch) {
+        try {
+            return latch.await(1, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+}